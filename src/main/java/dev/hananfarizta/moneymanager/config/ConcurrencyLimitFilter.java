@@ -0,0 +1,120 @@
+package dev.hananfarizta.moneymanager.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Admission control for the virtual-thread mode. A platform pool caps concurrent requests at
+// server.tomcat.threads.max; virtual threads remove that cap, so without this every request in a
+// burst would queue on Hikari's getConnection() and time out together. Requests over the limit wait
+// up to the admission timeout for a permit and are then answered with 503.
+// Registered after the security chain, so unauthenticated traffic never takes a permit.
+// An async response (NDJSON stream, Excel export) keeps its permit until the async request completes,
+// because that is when it stops reading from the database.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long admissionTimeoutNanos;
+
+    public ConcurrencyLimitFilter(
+            @Value("${app.web.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+            @Value("${app.web.admission-timeout:PT2S}") Duration admissionTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.admissionTimeoutNanos = admissionTimeout.toNanos();
+    }
+
+    // health checks must keep answering while the app is saturated
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.startsWith("/status") || path.startsWith("/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/json");
+            response.getWriter().write("""
+                    {
+                        "status": "error",
+                        "message": "Server is busy, try again later"
+                    }
+                    """);
+            return;
+        }
+
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    // released once, either when the request returns or when its async processing ends
+    private class Permit implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        // a new async cycle drops registered listeners, so stay on it
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
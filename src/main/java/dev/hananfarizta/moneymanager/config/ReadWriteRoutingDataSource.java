@@ -0,0 +1,33 @@
+package dev.hananfarizta.moneymanager.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends read-only transactions to the replica and everything else to the primary
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // The transaction manager asks for a connection before the read-only flag is bound to the thread,
+    // so the physical connection has to be deferred to the first statement for the routing to see it
+    public static DataSource lazy(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
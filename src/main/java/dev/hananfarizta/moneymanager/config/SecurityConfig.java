@@ -1,5 +1,6 @@
 package dev.hananfarizta.moneymanager.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,6 +34,8 @@ public class SecurityConfig {
         httpSecurity.cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // streamed responses finish on an async dispatch the JWT filter does not see again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/status", "/health").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .anyRequest().authenticated())
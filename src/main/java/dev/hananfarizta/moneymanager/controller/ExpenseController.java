@@ -1,19 +1,31 @@
 package dev.hananfarizta.moneymanager.controller;
 
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.dto.CursorPageDTO;
 import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
 import dev.hananfarizta.moneymanager.service.ExpenseService;
+import dev.hananfarizta.moneymanager.service.ProfileService;
+import dev.hananfarizta.moneymanager.util.NdjsonResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -21,6 +33,8 @@ import lombok.RequiredArgsConstructor;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ProfileService profileService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/expense")
     public ResponseEntity<ApiResponseDTO<Map<String, Object>>> addExpense(@RequestBody ExpenseDTO expenseDTO) {
@@ -33,8 +47,45 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/expenses/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> importExpenses(@RequestBody List<ExpenseDTO> expenseDTOs) {
+        Map<String, Object> data = expenseService.importExpenses(expenseDTOs);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Expenses imported successfully",
+                data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(value = "/expenses/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> importExpensesCsv(Reader reader) {
+        Map<String, Object> data = expenseService.importExpensesCsv(reader);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Expenses imported successfully",
+                data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/expenses")
-    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getCurrentMonthExpensesForCurrentUser() {
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getCurrentMonthExpensesForCurrentUser(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        // unpaged unless the client asks for a page
+        if (size != null || cursor != null) {
+            CursorPageDTO<ExpenseDTO> page = expenseService.getCurrentMonthExpensesPageForCurrentUser(cursor, size);
+
+            ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                    "success",
+                    "Expenses retrieved successfully",
+                    Map.of("expenses", page.getItems()),
+                    page.getNextCursor());
+
+            return ResponseEntity.ok(response);
+        }
+
         Map<String, Object> data = expenseService.getCurrentMonthExpensesForCurrentUser();
 
         ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
@@ -45,7 +96,16 @@ public class ExpenseController {
         return ResponseEntity.ok(response);
     }
 
-    
+    // NDJSON, one expense per line, for clients that want the whole month without holding it in memory
+    @GetMapping(value = "/expenses", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCurrentMonthExpensesForCurrentUser() {
+        Long profileId = profileService.getCurrentProfileId();
+        LocalDate now = LocalDate.now();
+
+        return NdjsonResponse.<ExpenseDTO>of(objectMapper, sink -> expenseService.streamExpenses(profileId,
+                now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()), null,
+                Sort.by(Sort.Direction.DESC, "date", "createdAt"), sink));
+    }
 
     @DeleteMapping("/expense/{expenseId}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteExpense(@PathVariable Long expenseId) {
@@ -0,0 +1,88 @@
+package dev.hananfarizta.moneymanager.controller;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.dto.ExportJobDTO;
+import dev.hananfarizta.moneymanager.service.ExcelExportService;
+import dev.hananfarizta.moneymanager.service.ExportJobService;
+import dev.hananfarizta.moneymanager.service.ProfileService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExcelExportService excelExportService;
+    private final ExportJobService exportJobService;
+    private final ProfileService profileService;
+
+    // type: income, expense or all; the workbook is written while the rows are read
+    @GetMapping("/excel")
+    public ResponseEntity<StreamingResponseBody> exportExcel(
+            @RequestParam(defaultValue = ExcelExportService.TYPE_ALL) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        ExcelExportService.validateType(type);
+        Long profileId = profileService.getCurrentProfileId();
+        LocalDate start = startDate != null ? startDate : LocalDate.MIN;
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("transactions-" + type + "-" + end + ".xlsx")
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(ExcelExportService.XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> excelExportService.export(profileId, type, start, end, out));
+    }
+
+    // jobs are submitted through POST /filter/export
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getExportJob(@PathVariable String id) {
+        ExportJobDTO job = exportJobService.getJob(profileService.getCurrentProfileId(), id);
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Export job retrieved successfully",
+                Map.of("job", job));
+        return ResponseEntity.ok(response);
+    }
+
+    // Served from disk as a Resource, so Range requests can resume an interrupted download
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+        Long profileId = profileService.getCurrentProfileId();
+        ExportJobDTO job = exportJobService.getJob(profileId, id);
+        Path file = exportJobService.getResultFile(profileId, id);
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("transactions-" + job.getType() + "-" + job.getCreatedAt().toLocalDate() + "."
+                        + job.getFormat())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(ExportJobService.FORMAT_XLSX.equals(job.getFormat())
+                        ? ExcelExportService.XLSX
+                        : ExportJobService.CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -2,27 +2,46 @@ package dev.hananfarizta.moneymanager.controller;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.dto.CursorPageDTO;
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import dev.hananfarizta.moneymanager.dto.ExportJobDTO;
 import dev.hananfarizta.moneymanager.dto.FilterDTO;
+import dev.hananfarizta.moneymanager.dto.IncomeDTO;
 import dev.hananfarizta.moneymanager.service.ExpenseService;
+import dev.hananfarizta.moneymanager.service.ExportJobService;
 import dev.hananfarizta.moneymanager.service.IncomeService;
+import dev.hananfarizta.moneymanager.service.ProfileService;
+import dev.hananfarizta.moneymanager.service.TransactionNameSearch;
+import dev.hananfarizta.moneymanager.util.NdjsonResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/filter")
 public class FilterController {
 
+    private static final Set<String> STREAM_SORT_FIELDS = Set.of("date", "amount", "name");
+
     private final ExpenseService expenseService;
     private final IncomeService incomeService;
+    private final ProfileService profileService;
+    private final ExportJobService exportJobService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping()
     public ResponseEntity<ApiResponseDTO<Map<String, Object>>> filterTransactions(
@@ -32,7 +51,16 @@ public class FilterController {
         LocalDate startDate = filterDTO.getStartDate() != null ? filterDTO.getStartDate() : LocalDate.MIN;
         LocalDate endDate = filterDTO.getEndDate() != null ? filterDTO.getEndDate() : LocalDate.now();
         String keyword = filterDTO.getKeyword() != null ? filterDTO.getKeyword() : "";
-        String sortField = filterDTO.getSortField() != null ? filterDTO.getSortField() : "date";
+
+        if (filterDTO.getSize() != null || filterDTO.getCursor() != null) {
+            return filterPage(filterDTO, startDate, endDate, keyword);
+        }
+
+        String sortField = filterDTO.getSortField() != null ? filterDTO.getSortField()
+                : keyword.isBlank() ? "date" : TransactionNameSearch.SORT_RELEVANCE;
+        if (TransactionNameSearch.SORT_RELEVANCE.equals(sortField) && keyword.isBlank()) {
+            sortField = "date";
+        }
 
         Sort.Direction sortDirection = "desc".equalsIgnoreCase(filterDTO.getSortOrder())
                 ? Sort.Direction.DESC
@@ -62,4 +90,90 @@ public class FilterController {
         return ResponseEntity.ok(response);
     }
 
+    // NDJSON, one transaction per line, read straight from a database cursor; sorts by plain columns only
+    @PostMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(@RequestBody FilterDTO filterDTO) {
+        LocalDate startDate = filterDTO.getStartDate() != null ? filterDTO.getStartDate() : LocalDate.MIN;
+        LocalDate endDate = filterDTO.getEndDate() != null ? filterDTO.getEndDate() : LocalDate.now();
+        String keyword = filterDTO.getKeyword() != null ? filterDTO.getKeyword() : "";
+        Sort sort = streamSort(filterDTO);
+
+        Long profileId = profileService.getCurrentProfileId();
+
+        if ("income".equals(filterDTO.getType())) {
+            return NdjsonResponse.<IncomeDTO>of(objectMapper,
+                    sink -> incomeService.streamIncomes(profileId, startDate, endDate, keyword, sort, sink));
+        } else if ("expense".equals(filterDTO.getType())) {
+            return NdjsonResponse.<ExpenseDTO>of(objectMapper,
+                    sink -> expenseService.streamExpenses(profileId, startDate, endDate, keyword, sort, sink));
+        }
+        throw new IllegalArgumentException("Invalid type specified. Must be 'income' or 'expense'.");
+    }
+
+    // Same criteria as the stream, written to a file in the background; poll and download under /export/jobs
+    @PostMapping("/export")
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> exportTransactions(
+            @RequestParam(defaultValue = ExportJobService.FORMAT_XLSX) String format,
+            @RequestBody FilterDTO filterDTO) {
+        LocalDate startDate = filterDTO.getStartDate() != null ? filterDTO.getStartDate() : LocalDate.MIN;
+        LocalDate endDate = filterDTO.getEndDate() != null ? filterDTO.getEndDate() : LocalDate.now();
+        String keyword = filterDTO.getKeyword() != null ? filterDTO.getKeyword() : "";
+        Sort sort = streamSort(filterDTO);
+
+        ExportJobDTO job = exportJobService.submit(profileService.getCurrentProfileId(), format,
+                filterDTO.getType(), startDate, endDate, keyword, sort);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Export job submitted successfully",
+                Map.of("job", job));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    // Keyset pages only walk the (date, created_at, id) order, newest first
+    private ResponseEntity<ApiResponseDTO<Map<String, Object>>> filterPage(FilterDTO filterDTO,
+            LocalDate startDate, LocalDate endDate, String keyword) {
+        if ((filterDTO.getSortField() != null && !"date".equals(filterDTO.getSortField()))
+                || (filterDTO.getSortOrder() != null && !"desc".equalsIgnoreCase(filterDTO.getSortOrder()))) {
+            throw new IllegalArgumentException("Paginated filter only supports sorting by date desc");
+        }
+
+        String key;
+        CursorPageDTO<?> page;
+        if ("income".equals(filterDTO.getType())) {
+            key = "incomes";
+            page = incomeService.getIncomesPage(startDate, endDate, keyword, filterDTO.getCursor(), filterDTO.getSize());
+        } else if ("expense".equals(filterDTO.getType())) {
+            key = "expenses";
+            page = expenseService.getExpensesPage(startDate, endDate, keyword, filterDTO.getCursor(),
+                    filterDTO.getSize());
+        } else {
+            ApiResponseDTO<Map<String, Object>> errorResponse = new ApiResponseDTO<>(
+                    "error",
+                    "Invalid type specified. Must be 'income' or 'expense'.",
+                    null);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Transactions filtered successfully",
+                Map.of(key, page.getItems()),
+                page.getNextCursor());
+
+        return ResponseEntity.ok(response);
+    }
+
+    private Sort streamSort(FilterDTO filterDTO) {
+        String sortField = filterDTO.getSortField() != null ? filterDTO.getSortField() : "date";
+        if (!STREAM_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field for streaming: " + sortField);
+        }
+
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(filterDTO.getSortOrder())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        return Sort.by(sortDirection, sortField);
+    }
 }
@@ -1,19 +1,31 @@
 package dev.hananfarizta.moneymanager.controller;
 
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.dto.CursorPageDTO;
 import dev.hananfarizta.moneymanager.dto.IncomeDTO;
 import dev.hananfarizta.moneymanager.service.IncomeService;
+import dev.hananfarizta.moneymanager.service.ProfileService;
+import dev.hananfarizta.moneymanager.util.NdjsonResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -21,6 +33,8 @@ import lombok.RequiredArgsConstructor;
 public class IncomeController {
 
     private final IncomeService incomeService;
+    private final ProfileService profileService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/income")
     public ResponseEntity<ApiResponseDTO<Map<String, Object>>> addIncome(@RequestBody IncomeDTO incomeDTO) {
@@ -33,8 +47,45 @@ public class IncomeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/incomes/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> importIncomes(@RequestBody List<IncomeDTO> incomeDTOs) {
+        Map<String, Object> data = incomeService.importIncomes(incomeDTOs);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Incomes imported successfully",
+                data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(value = "/incomes/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> importIncomesCsv(Reader reader) {
+        Map<String, Object> data = incomeService.importIncomesCsv(reader);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Incomes imported successfully",
+                data);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/incomes")
-    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getCurrentMonthIncomesForCurrentUser() {
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getCurrentMonthIncomesForCurrentUser(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        // unpaged unless the client asks for a page
+        if (size != null || cursor != null) {
+            CursorPageDTO<IncomeDTO> page = incomeService.getCurrentMonthIncomesPageForCurrentUser(cursor, size);
+
+            ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                    "success",
+                    "Incomes retrieved successfully",
+                    Map.of("incomes", page.getItems()),
+                    page.getNextCursor());
+
+            return ResponseEntity.ok(response);
+        }
+
         Map<String, Object> data = incomeService.getCurrentMonthIncomesForCurrentUser();
 
         ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
@@ -45,6 +96,17 @@ public class IncomeController {
         return ResponseEntity.ok(response);
     }
 
+    // NDJSON, one income per line, for clients that want the whole month without holding it in memory
+    @GetMapping(value = "/incomes", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCurrentMonthIncomesForCurrentUser() {
+        Long profileId = profileService.getCurrentProfileId();
+        LocalDate now = LocalDate.now();
+
+        return NdjsonResponse.<IncomeDTO>of(objectMapper, sink -> incomeService.streamIncomes(profileId,
+                now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()), null,
+                Sort.by(Sort.Direction.DESC, "date", "createdAt"), sink));
+    }
+
     @DeleteMapping("/income/{incomeId}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteIncome(@PathVariable Long incomeId) {
         incomeService.deleteIncome(incomeId);
@@ -0,0 +1,37 @@
+package dev.hananfarizta.moneymanager.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.dto.RecentTransactionDTO;
+import dev.hananfarizta.moneymanager.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transactions")
+public class TransactionController {
+
+    private final DashboardService dashboardService;
+
+    // incomes and expenses together, newest first; limit is 1..100
+    @GetMapping("/recent")
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getRecentTransactions(
+            @RequestParam(defaultValue = "5") int limit) {
+        List<RecentTransactionDTO> transactions = dashboardService.getRecentTransactions(limit);
+
+        ApiResponseDTO<Map<String, Object>> response = new ApiResponseDTO<>(
+                "success",
+                "Recent transactions retrieved successfully",
+                Map.of("transactions", transactions));
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -15,4 +15,12 @@ public class ApiResponseDTO<T> {
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private T data;
+
+    // only set on paginated listings that have a further page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public ApiResponseDTO(String status, String message, T data) {
+        this(status, message, data, null);
+    }
 }
@@ -0,0 +1,18 @@
+package dev.hananfarizta.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmailDeliveryResultDTO {
+
+    private String to;
+    private boolean sent;
+    private String error;
+
+}
@@ -0,0 +1,19 @@
+package dev.hananfarizta.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmailMessageDTO {
+
+    private String to;
+    private String subject;
+    private String body;
+    private boolean html;
+
+}
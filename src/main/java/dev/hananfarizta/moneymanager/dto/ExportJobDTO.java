@@ -0,0 +1,30 @@
+package dev.hananfarizta.moneymanager.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobDTO {
+
+    private String id;
+    private String type;
+    private String format; // xlsx, csv
+    private String status; // QUEUED, RUNNING, DONE, FAILED
+    private Long rows;
+    private Long sizeBytes;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt; // the file is deleted after this
+
+}
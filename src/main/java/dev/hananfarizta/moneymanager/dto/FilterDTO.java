@@ -11,7 +11,9 @@ public class FilterDTO {
     private LocalDate startDate;
     private LocalDate endDate;
     private String keyword;
-    private String sortField; // date, amount, name
+    private String sortField; // date, amount, name, relevance (default when a keyword is given)
     private String sortOrder; // asc, desc
+    private Integer size; // page size; size or cursor switches to keyset pages ordered by date desc
+    private String cursor; // nextCursor of the previous page
     
 }
@@ -11,22 +11,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "tbl_categories")
+@Table(name = "tbl_categories", indexes = @Index(
+        name = "idx_categories_profile_type",
+        columnList = "profile_id, type"), uniqueConstraints = @UniqueConstraint(
+                name = CategoryEntity.UNIQUE_NAME_CONSTRAINT,
+                columnNames = { "profile_id", "name", "type" }))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class CategoryEntity {
 
+    public static final String UNIQUE_NAME_CONSTRAINT = "uk_categories_profile_name_type";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
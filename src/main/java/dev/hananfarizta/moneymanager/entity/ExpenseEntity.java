@@ -7,15 +7,20 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import dev.hananfarizta.moneymanager.util.SearchText;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,15 +32,22 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_expenses")
+@Table(name = "tbl_expenses", indexes = @Index(
+        name = "idx_expenses_profile_date_created",
+        columnList = "profile_id, date DESC, created_at DESC"))
 public class ExpenseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tbl_expenses_seq")
+    @SequenceGenerator(name = "tbl_expenses_seq", sequenceName = "tbl_expenses_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // normalized name for keyword search, see SearchText.normalize
+    @Column(name = "search_name")
+    private String searchName;
+
     private String icon;
 
     private LocalDate date;
@@ -49,7 +61,7 @@ public class ExpenseEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private CategoryEntity category;
 
@@ -62,5 +74,11 @@ public class ExpenseEntity {
         if (this.date == null) {
             this.date = LocalDate.now();
         }
+        this.searchName = SearchText.normalize(this.name);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.searchName = SearchText.normalize(this.name);
     }
 }
@@ -7,15 +7,20 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import dev.hananfarizta.moneymanager.util.SearchText;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,15 +32,22 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_incomes")
+@Table(name = "tbl_incomes", indexes = @Index(
+        name = "idx_incomes_profile_date_created",
+        columnList = "profile_id, date DESC, created_at DESC"))
 public class IncomeEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tbl_incomes_seq")
+    @SequenceGenerator(name = "tbl_incomes_seq", sequenceName = "tbl_incomes_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // normalized name for keyword search, see SearchText.normalize
+    @Column(name = "search_name")
+    private String searchName;
+
     private String icon;
 
     private LocalDate date;
@@ -62,5 +74,11 @@ public class IncomeEntity {
         if (this.date == null) {
             this.date = LocalDate.now();
         }
+        this.searchName = SearchText.normalize(this.name);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.searchName = SearchText.normalize(this.name);
     }
 }
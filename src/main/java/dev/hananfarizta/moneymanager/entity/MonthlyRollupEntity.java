@@ -0,0 +1,56 @@
+package dev.hananfarizta.moneymanager.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_monthly_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_monthly_rollups_bucket",
+        columnNames = { "profile_id", "year_month", "category_id", "type" }))
+public class MonthlyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    // yyyyMM, e.g. 202501
+    @Column(name = "year_month", nullable = false)
+    private Integer yearMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // "income" or "expense"
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
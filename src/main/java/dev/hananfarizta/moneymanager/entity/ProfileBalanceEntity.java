@@ -0,0 +1,41 @@
+package dev.hananfarizta.moneymanager.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_profile_balances")
+public class ProfileBalanceEntity {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private BigDecimal totalIncomes;
+
+    @Column(nullable = false)
+    private BigDecimal totalExpenses;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public BigDecimal getTotalBalance() {
+        return totalIncomes.subtract(totalExpenses);
+    }
+}
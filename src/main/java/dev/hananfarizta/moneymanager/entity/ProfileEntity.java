@@ -11,7 +11,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tbl_profiles")
+@Table(name = "tbl_profiles", indexes = @Index(
+        name = "uk_profiles_activation_token",
+        columnList = "activation_token",
+        unique = true))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
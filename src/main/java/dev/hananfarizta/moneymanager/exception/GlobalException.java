@@ -1,6 +1,7 @@
 package dev.hananfarizta.moneymanager.exception;
 
 import dev.hananfarizta.moneymanager.dto.ApiResponseDTO;
+import dev.hananfarizta.moneymanager.exception.custom.TooManyRequestsException;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -146,6 +147,18 @@ public class GlobalException {
         return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(response);
     }
 
+    /**
+     * 429 Too Many Requests
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        ApiResponseDTO<Object> response = new ApiResponseDTO<>(
+                "error",
+                ex.getMessage(),
+                null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
     /**
      * 500 Internal Server Error
      */
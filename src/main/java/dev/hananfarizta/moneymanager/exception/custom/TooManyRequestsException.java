@@ -0,0 +1,7 @@
+package dev.hananfarizta.moneymanager.exception.custom;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
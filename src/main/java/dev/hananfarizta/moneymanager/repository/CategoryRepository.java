@@ -4,24 +4,25 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.hananfarizta.moneymanager.entity.CategoryEntity;
 
+// Written as c.profile.id queries: the derived findByProfileId... form joins tbl_profiles and filters on
+// the joined id, which keeps the planner off the profile_id indexes.
 public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
 
     // select * from tbl_categories where profile_id = ?
-    List<CategoryEntity> findByProfileId(Long profileId);
+    @Query("SELECT c FROM CategoryEntity c WHERE c.profile.id = :profileId")
+    List<CategoryEntity> findByProfileId(@Param("profileId") Long profileId);
 
     // select * from tbl_categories where id = ? and profile_id = ?
-    Optional<CategoryEntity> findByIdAndProfileId(Long id, Long profileId);
+    @Query("SELECT c FROM CategoryEntity c WHERE c.id = :id AND c.profile.id = :profileId")
+    Optional<CategoryEntity> findByIdAndProfileId(@Param("id") Long id, @Param("profileId") Long profileId);
 
     // select * from tbl_categories where type = ? and profile_id = ?
-    List<CategoryEntity> findByTypeAndProfileId(String type, Long profileId);
+    @Query("SELECT c FROM CategoryEntity c WHERE c.type = :type AND c.profile.id = :profileId")
+    List<CategoryEntity> findByTypeAndProfileId(@Param("type") String type, @Param("profileId") Long profileId);
 
-    boolean existsByNameAndProfileIdAndIdNot(String name, Long profileId, Long id);
-
-    boolean existsByNameAndTypeAndProfileId(String name, String type, Long profileId);
-
-    boolean existsByNameAndTypeAndIconAndProfileIdAndIdNot(String name, String type, String icon,Long profileId, Long id);
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.projection.RecentTransactionView;
+
+public interface DashboardRepository extends Repository<ProfileEntity, Long> {
+
+    // latest :limit incomes UNION ALL latest :limit expenses, category name joined in, newest first;
+    // the outer ORDER BY is needed because UNION ALL keeps no order across or within its branches
+    @Query(value = """
+            SELECT * FROM ((SELECT i.id AS id, i.name AS name, i.icon AS icon, c.id AS categoryId, c.name AS categoryName,
+                    i.amount AS amount, i.date AS date, i.created_at AS createdAt, i.updated_at AS updatedAt,
+                    'income' AS type
+               FROM tbl_incomes i
+               LEFT JOIN tbl_categories c ON c.id = i.category_id
+              WHERE i.profile_id = :profileId
+              ORDER BY i.date DESC, i.created_at DESC
+              LIMIT :limit)
+            UNION ALL
+            (SELECT e.id AS id, e.name AS name, e.icon AS icon, c.id AS categoryId, c.name AS categoryName,
+                    e.amount AS amount, e.date AS date, e.created_at AS createdAt, e.updated_at AS updatedAt,
+                    'expense' AS type
+               FROM tbl_expenses e
+               LEFT JOIN tbl_categories c ON c.id = e.category_id
+              WHERE e.profile_id = :profileId
+              ORDER BY e.date DESC, e.created_at DESC
+              LIMIT :limit)) recent
+             ORDER BY recent.date DESC, recent.createdAt DESC, recent.id DESC
+            """, nativeQuery = true)
+    List<RecentTransactionView> findRecentTransactionsByProfileId(
+            @Param("profileId") Long profileId,
+            @Param("limit") int limit);
+}
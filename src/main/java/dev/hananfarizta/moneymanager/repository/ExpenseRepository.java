@@ -2,40 +2,72 @@ package dev.hananfarizta.moneymanager.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.repository.projection.SearchEntryView;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import dev.hananfarizta.moneymanager.repository.projection.DailyExpenseView;
 
 public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
 
-    // select * from tbl_expanses where profileId = ?1 order by date desc
-    List<ExpenseEntity> findByProfileIdOrderByDateDesc(Long profileId);
+    // TransactionView columns, category through an outer join
+    String VIEW_SELECT = "SELECT e.id AS id, e.name AS name, e.icon AS icon, c.id AS categoryId, "
+            + "c.name AS categoryName, e.amount AS amount, e.date AS date, e.createdAt AS createdAt, "
+            + "e.updatedAt AS updatedAt FROM ExpenseEntity e LEFT JOIN e.category c ";
+
+    // select e.*, c.* from tbl_expenses e join tbl_categories c where e.profile_id = ?1 order by e.date desc
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT e FROM ExpenseEntity e WHERE e.profile.id = :profileId ORDER BY e.date DESC")
+    List<ExpenseEntity> findByProfileIdOrderByDateDesc(@Param("profileId") Long profileId);
 
-    // select * from tbl_expanses where profileId = ?1 order by date desc limit 5
-    List<ExpenseEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // select e.*, c.name from tbl_expenses e left join tbl_categories c where e.profile_id = ?1
+    // order by e.date desc limit ?2
+    @Query(VIEW_SELECT + "WHERE e.profile.id = :profileId ORDER BY e.date DESC")
+    List<TransactionView> findRecentViewsByProfileId(@Param("profileId") Long profileId, Limit limit);
 
     @Query("SELECT COALESCE(SUM(e.amount), 0) FROM ExpenseEntity e WHERE e.profile.id = :profileId")
     BigDecimal findTotalExpenseByProfileId(@Param("profileId") Long profileId);
 
-    // select * from tbl_expenses where profile_id = ?1 and date between ?2 and ?3
-    // and name like %?4%
-    List<ExpenseEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-            Long profileId,
-            LocalDate startDate,
-            LocalDate endDate,
-            String keyword,
+    // select e.*, c.name from tbl_expenses e left join tbl_categories c where e.profile_id = ?1
+    // and e.date between ?2 and ?3
+    @Query(VIEW_SELECT + "WHERE e.profile.id = :profileId AND e.date BETWEEN :startDate AND :endDate")
+    List<TransactionView> findViewsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
             Sort sort);
 
-    // select * from tbl_expenses where profile_id = ?1 and date between ?2 and ?3
-    List<ExpenseEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
+    // select e.*, c.name from tbl_expenses e left join tbl_categories c where e.profile_id = ?1 and e.date = ?2
+    @Query(VIEW_SELECT + "WHERE e.profile.id = :profileId AND e.date = :date")
+    List<TransactionView> findViewsByProfileIdAndDate(@Param("profileId") Long profileId, @Param("date") LocalDate date);
 
-    // select * from tbl_expenses where profile_id = ?1 and date = ?2
-    List<ExpenseEntity> findByProfileIdAndDate(Long profileId, LocalDate date);
+    // select e.*, c.name from tbl_expenses e left join tbl_categories c where e.id in (?1)
+    @Query(VIEW_SELECT + "WHERE e.id IN :ids")
+    List<TransactionView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // select e.profile_id, e.name, e.amount, c.name from tbl_expenses e left join tbl_categories c
+    // where e.profile_id in (?1) and e.date = ?2 order by e.profile_id, e.id
+    @Query("SELECT e.profile.id AS profileId, e.name AS name, e.amount AS amount, c.name AS categoryName "
+            + "FROM ExpenseEntity e LEFT JOIN e.category c "
+            + "WHERE e.profile.id IN :profileIds AND e.date = :date ORDER BY e.profile.id, e.id")
+    List<DailyExpenseView> findDailyExpensesByProfileIds(
+            @Param("profileIds") List<Long> profileIds,
+            @Param("date") LocalDate date);
 
     // NEW: sum expenses between two LocalDate boundaries (inclusive)
     @Query("SELECT COALESCE(SUM(e.amount), 0) FROM ExpenseEntity e WHERE e.profile.id = :profileId AND e.date >= :startDate AND e.date <= :endDate")
@@ -43,4 +75,65 @@ public interface ExpenseRepository extends JpaRepository<ExpenseEntity, Long> {
             @Param("profileId") Long profileId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    // keyword search on search_name served by the pg_trgm index (Postgres only),
+    // ranked exact > prefix > substring, then by trigram similarity, then newest first
+    @Query(value = """
+            SELECT e.id FROM tbl_expenses e
+             WHERE e.profile_id = :profileId
+               AND e.date BETWEEN :startDate AND :endDate
+               AND e.search_name LIKE CONCAT('%', :pattern, '%')
+             ORDER BY CASE WHEN e.search_name = :keyword THEN 0
+                           WHEN e.search_name LIKE CONCAT(:pattern, '%') THEN 1
+                           ELSE 2 END,
+                      similarity(e.search_name, :keyword) DESC,
+                      e.date DESC, e.id DESC
+            """, nativeQuery = true)
+    List<Long> searchIdsByTrigram(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            @Param("pattern") String pattern);
+
+    // select id, search_name, date from tbl_expenses where profile_id = ?1
+    @Query("SELECT e.id AS id, e.searchName AS searchName, e.date AS date FROM ExpenseEntity e WHERE e.profile.id = :profileId")
+    List<SearchEntryView> findSearchEntriesByProfileId(@Param("profileId") Long profileId);
+
+    // keyset page: select e.*, c.name from tbl_expenses e left join tbl_categories c where profile_id = ?1 and date between ?2 and ?3
+    // [and search_name like ?4] and (date, created_at, id) < (?5, ?6, ?7)
+    // order by date desc, created_at desc, id desc limit ?8
+    @Query(VIEW_SELECT + """
+             WHERE e.profile.id = :profileId
+               AND e.date BETWEEN :startDate AND :endDate
+               AND (:pattern IS NULL OR e.searchName LIKE :pattern)
+               AND (e.date < :date
+                    OR (e.date = :date AND (e.createdAt < :createdAt
+                         OR (e.createdAt = :createdAt AND e.id < :id))))
+             ORDER BY e.date DESC, e.createdAt DESC, e.id DESC
+            """)
+    List<TransactionView> findPageBefore(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("pattern") String pattern,
+            @Param("date") LocalDate date,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    // select e.*, c.name from tbl_expenses e left join tbl_categories c where profile_id = ?1 and date between ?2 and ?3
+    // [and search_name like ?4], read through a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + """
+             WHERE e.profile.id = :profileId
+               AND e.date BETWEEN :startDate AND :endDate
+               AND (:pattern IS NULL OR e.searchName LIKE :pattern)
+            """)
+    Stream<TransactionView> streamByProfileId(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("pattern") String pattern,
+            Sort sort);
+}
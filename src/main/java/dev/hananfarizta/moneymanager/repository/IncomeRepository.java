@@ -2,41 +2,62 @@ package dev.hananfarizta.moneymanager.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import dev.hananfarizta.moneymanager.entity.IncomeEntity;
+import dev.hananfarizta.moneymanager.repository.projection.SearchEntryView;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
 
 public interface IncomeRepository extends JpaRepository<IncomeEntity, Long>{
 
-    // select * from tbl_incomes where profileId = ?1 order by date desc
-    List<IncomeEntity> findByProfileIdOrderByDateDesc(Long profileId);
+    // TransactionView columns, category through an outer join
+    String VIEW_SELECT = "SELECT i.id AS id, i.name AS name, i.icon AS icon, c.id AS categoryId, "
+            + "c.name AS categoryName, i.amount AS amount, i.date AS date, i.createdAt AS createdAt, "
+            + "i.updatedAt AS updatedAt FROM IncomeEntity i LEFT JOIN i.category c ";
+
+    // select i.*, c.* from tbl_incomes i join tbl_categories c where i.profile_id = ?1 order by i.date desc
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT i FROM IncomeEntity i WHERE i.profile.id = :profileId ORDER BY i.date DESC")
+    List<IncomeEntity> findByProfileIdOrderByDateDesc(@Param("profileId") Long profileId);
 
-    // select * from tbl_incomes where profileId = ?1 order by date desc limit 5
-    List<IncomeEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
+    // select i.*, c.name from tbl_incomes i left join tbl_categories c where i.profile_id = ?1
+    // order by i.date desc limit ?2
+    @Query(VIEW_SELECT + "WHERE i.profile.id = :profileId ORDER BY i.date DESC")
+    List<TransactionView> findRecentViewsByProfileId(@Param("profileId") Long profileId, Limit limit);
 
     @Query("SELECT COALESCE(SUM(i.amount), 0) FROM IncomeEntity i WHERE i.profile.id = :profileId")
     BigDecimal findTotalIncomeByProfileId(@Param("profileId") Long profileId);
 
-    // select * from tbl_incomes where profile_id = ?1 and date between ?2 and ?3
-    // and name like %?4%
-    List<IncomeEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-            Long profileId,
-            LocalDate startDate,
-            LocalDate endDate,
-            String keyword,
+    // select i.*, c.name from tbl_incomes i left join tbl_categories c where i.profile_id = ?1
+    // and i.date between ?2 and ?3
+    @Query(VIEW_SELECT + "WHERE i.profile.id = :profileId AND i.date BETWEEN :startDate AND :endDate")
+    List<TransactionView> findViewsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
             Sort sort);
 
-    // select * from tbl_incomes where profile_id = ?1 and date between ?2 and ?3
-    List<IncomeEntity> findByProfileIdAndDateBetween(Long profileId, LocalDate startDate, LocalDate endDate);
+    // select i.*, c.name from tbl_incomes i left join tbl_categories c where i.profile_id = ?1 and i.date = ?2
+    @Query(VIEW_SELECT + "WHERE i.profile.id = :profileId AND i.date = :date")
+    List<TransactionView> findViewsByProfileIdAndDate(@Param("profileId") Long profileId, @Param("date") LocalDate date);
 
-
-    // select * from tbl_incomes where profile_id = ?1 and date = ?2
-    List<IncomeEntity> findByProfileIdAndDate(Long profileId, LocalDate date);
+    // select i.*, c.name from tbl_incomes i left join tbl_categories c where i.id in (?1)
+    @Query(VIEW_SELECT + "WHERE i.id IN :ids")
+    List<TransactionView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 
     // NEW: sum incomes between two LocalDate boundaries (inclusive)
     @Query("SELECT COALESCE(SUM(i.amount), 0) FROM IncomeEntity i WHERE i.profile.id = :profileId AND i.date >= :startDate AND i.date <= :endDate")
@@ -44,4 +65,65 @@ public interface IncomeRepository extends JpaRepository<IncomeEntity, Long>{
             @Param("profileId") Long profileId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // keyword search on search_name served by the pg_trgm index (Postgres only),
+    // ranked exact > prefix > substring, then by trigram similarity, then newest first
+    @Query(value = """
+            SELECT i.id FROM tbl_incomes i
+             WHERE i.profile_id = :profileId
+               AND i.date BETWEEN :startDate AND :endDate
+               AND i.search_name LIKE CONCAT('%', :pattern, '%')
+             ORDER BY CASE WHEN i.search_name = :keyword THEN 0
+                           WHEN i.search_name LIKE CONCAT(:pattern, '%') THEN 1
+                           ELSE 2 END,
+                      similarity(i.search_name, :keyword) DESC,
+                      i.date DESC, i.id DESC
+            """, nativeQuery = true)
+    List<Long> searchIdsByTrigram(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("keyword") String keyword,
+            @Param("pattern") String pattern);
+
+    // select id, search_name, date from tbl_incomes where profile_id = ?1
+    @Query("SELECT i.id AS id, i.searchName AS searchName, i.date AS date FROM IncomeEntity i WHERE i.profile.id = :profileId")
+    List<SearchEntryView> findSearchEntriesByProfileId(@Param("profileId") Long profileId);
+
+    // keyset page: select i.*, c.name from tbl_incomes i left join tbl_categories c where profile_id = ?1 and date between ?2 and ?3
+    // [and search_name like ?4] and (date, created_at, id) < (?5, ?6, ?7)
+    // order by date desc, created_at desc, id desc limit ?8
+    @Query(VIEW_SELECT + """
+             WHERE i.profile.id = :profileId
+               AND i.date BETWEEN :startDate AND :endDate
+               AND (:pattern IS NULL OR i.searchName LIKE :pattern)
+               AND (i.date < :date
+                    OR (i.date = :date AND (i.createdAt < :createdAt
+                         OR (i.createdAt = :createdAt AND i.id < :id))))
+             ORDER BY i.date DESC, i.createdAt DESC, i.id DESC
+            """)
+    List<TransactionView> findPageBefore(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("pattern") String pattern,
+            @Param("date") LocalDate date,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    // select i.*, c.name from tbl_incomes i left join tbl_categories c where profile_id = ?1 and date between ?2 and ?3
+    // [and search_name like ?4], read through a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + """
+             WHERE i.profile.id = :profileId
+               AND i.date BETWEEN :startDate AND :endDate
+               AND (:pattern IS NULL OR i.searchName LIKE :pattern)
+            """)
+    Stream<TransactionView> streamByProfileId(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("pattern") String pattern,
+            Sort sort);
 }
@@ -0,0 +1,50 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.hananfarizta.moneymanager.entity.MailOutboxEntity;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+
+    // select id from tbl_mail_outbox where status = ? and next_attempt_at <= ? order by next_attempt_at
+    @Query("SELECT m.id FROM MailOutboxEntity m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") String status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // update tbl_mail_outbox set status = ?, attempts = attempts + 1 where id = ? and status = ?
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.status = :to, m.attempts = m.attempts + 1, m.updatedAt = :now "
+            + "WHERE m.id = :id AND m.status = :from")
+    int claim(@Param("id") Long id, @Param("from") String from, @Param("to") String to,
+            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.status = :status, m.sentAt = :now, m.lastError = NULL, m.updatedAt = :now "
+            + "WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, "
+            + "m.lastError = :lastError, m.updatedAt = :now WHERE m.id = :id")
+    int markAttemptFailed(@Param("id") Long id, @Param("status") String status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError,
+            @Param("now") LocalDateTime now);
+
+    // Messages left in SENDING by a crashed or stopped instance go back to PENDING
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxEntity m SET m.status = :to, m.nextAttemptAt = :now, m.updatedAt = :now "
+            + "WHERE m.status = :from AND m.updatedAt < :staleBefore")
+    int requeueStale(@Param("from") String from, @Param("to") String to,
+            @Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,171 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.hananfarizta.moneymanager.entity.MonthlyRollupEntity;
+import dev.hananfarizta.moneymanager.repository.projection.MonthlyTotalView;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollupEntity, Long> {
+
+    // update tbl_monthly_rollups set total_amount = total_amount + ?, transaction_count = transaction_count + ?
+    // where profile_id = ? and year_month = ? and category_id = ? and type = ?
+    @Modifying
+    @Query("""
+            UPDATE MonthlyRollupEntity r
+               SET r.totalAmount = r.totalAmount + :amountDelta,
+                   r.transactionCount = r.transactionCount + :countDelta,
+                   r.updatedAt = :now
+             WHERE r.profileId = :profileId
+               AND r.yearMonth = :yearMonth
+               AND r.categoryId = :categoryId
+               AND r.type = :type
+            """)
+    int addToBucket(
+            @Param("profileId") Long profileId,
+            @Param("yearMonth") Integer yearMonth,
+            @Param("categoryId") Long categoryId,
+            @Param("type") String type,
+            @Param("amountDelta") BigDecimal amountDelta,
+            @Param("countDelta") long countDelta,
+            @Param("now") LocalDateTime now);
+
+    // sum of whole months [fromYearMonth, toYearMonth] for one profile and type
+    @Query("""
+            SELECT COALESCE(SUM(r.totalAmount), 0) FROM MonthlyRollupEntity r
+             WHERE r.profileId = :profileId
+               AND r.type = :type
+               AND r.yearMonth BETWEEN :fromYearMonth AND :toYearMonth
+            """)
+    BigDecimal sumBetweenMonths(
+            @Param("profileId") Long profileId,
+            @Param("type") String type,
+            @Param("fromYearMonth") Integer fromYearMonth,
+            @Param("toYearMonth") Integer toYearMonth);
+
+    // one row per month, all categories folded together
+    @Query("""
+            SELECT r.yearMonth AS yearMonth, SUM(r.totalAmount) AS totalAmount FROM MonthlyRollupEntity r
+             WHERE r.profileId = :profileId
+               AND r.type = :type
+               AND r.yearMonth BETWEEN :fromYearMonth AND :toYearMonth
+             GROUP BY r.yearMonth
+             ORDER BY r.yearMonth
+            """)
+    List<MonthlyTotalView> findMonthlyTotals(
+            @Param("profileId") Long profileId,
+            @Param("type") String type,
+            @Param("fromYearMonth") Integer fromYearMonth,
+            @Param("toYearMonth") Integer toYearMonth);
+
+    // insert-if-absent of one income bucket computed from tbl_incomes; 0 when the bucket already exists
+    // or a concurrent transaction inserted it first (that insert is waited for, not failed on)
+    @Modifying
+    @Query(value = """
+            INSERT INTO tbl_monthly_rollups
+                   (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+            SELECT :profileId, :yearMonth, :categoryId, 'income', COALESCE(SUM(i.amount), 0), COUNT(i.id),
+                   CURRENT_TIMESTAMP
+              FROM tbl_incomes i
+             WHERE i.profile_id = :profileId
+               AND i.category_id = :categoryId
+               AND i.date BETWEEN :startDate AND :endDate
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIncomeBucketIfAbsent(
+            @Param("profileId") Long profileId,
+            @Param("yearMonth") Integer yearMonth,
+            @Param("categoryId") Long categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // insert-if-absent of one expense bucket computed from tbl_expenses
+    @Modifying
+    @Query(value = """
+            INSERT INTO tbl_monthly_rollups
+                   (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+            SELECT :profileId, :yearMonth, :categoryId, 'expense', COALESCE(SUM(e.amount), 0), COUNT(e.id),
+                   CURRENT_TIMESTAMP
+              FROM tbl_expenses e
+             WHERE e.profile_id = :profileId
+               AND e.category_id = :categoryId
+               AND e.date BETWEEN :startDate AND :endDate
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertExpenseBucketIfAbsent(
+            @Param("profileId") Long profileId,
+            @Param("yearMonth") Integer yearMonth,
+            @Param("categoryId") Long categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // backfill: create the profile's missing income buckets from tbl_incomes
+    @Modifying
+    @Query(value = """
+            INSERT INTO tbl_monthly_rollups
+                   (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+            SELECT i.profile_id, CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER), i.category_id, 'income', SUM(i.amount), COUNT(*), CURRENT_TIMESTAMP
+              FROM tbl_incomes i
+             WHERE i.profile_id = :profileId
+             GROUP BY i.profile_id, CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER), i.category_id
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingIncomeBuckets(@Param("profileId") Long profileId);
+
+    // backfill: create the profile's missing expense buckets from tbl_expenses
+    @Modifying
+    @Query(value = """
+            INSERT INTO tbl_monthly_rollups
+                   (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+            SELECT e.profile_id, CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER), e.category_id, 'expense', SUM(e.amount), COUNT(*), CURRENT_TIMESTAMP
+              FROM tbl_expenses e
+             WHERE e.profile_id = :profileId
+             GROUP BY e.profile_id, CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER), e.category_id
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingExpenseBuckets(@Param("profileId") Long profileId);
+
+    // select ... for update: holds back concurrent deltas to the profile's buckets until the transaction ends
+    @Query(value = "SELECT r.id FROM tbl_monthly_rollups r WHERE r.profile_id = :profileId FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockBucketsByProfileId(@Param("profileId") Long profileId);
+
+    // backfill: recompute the profile's income buckets; buckets left without rows drop to zero
+    @Modifying
+    @Query(value = """
+            UPDATE tbl_monthly_rollups r
+               SET total_amount = (SELECT COALESCE(SUM(i.amount), 0) FROM tbl_incomes i
+                                    WHERE i.profile_id = r.profile_id AND i.category_id = r.category_id
+                                      AND CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER) = r.year_month),
+                   transaction_count = (SELECT COUNT(*) FROM tbl_incomes i
+                                         WHERE i.profile_id = r.profile_id AND i.category_id = r.category_id
+                                           AND CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER) = r.year_month),
+                   updated_at = CURRENT_TIMESTAMP
+             WHERE r.profile_id = :profileId
+               AND r.type = 'income'
+            """, nativeQuery = true)
+    int recomputeIncomeBuckets(@Param("profileId") Long profileId);
+
+    // backfill: recompute the profile's expense buckets; buckets left without rows drop to zero
+    @Modifying
+    @Query(value = """
+            UPDATE tbl_monthly_rollups r
+               SET total_amount = (SELECT COALESCE(SUM(e.amount), 0) FROM tbl_expenses e
+                                    WHERE e.profile_id = r.profile_id AND e.category_id = r.category_id
+                                      AND CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER) = r.year_month),
+                   transaction_count = (SELECT COUNT(*) FROM tbl_expenses e
+                                         WHERE e.profile_id = r.profile_id AND e.category_id = r.category_id
+                                           AND CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER) = r.year_month),
+                   updated_at = CURRENT_TIMESTAMP
+             WHERE r.profile_id = :profileId
+               AND r.type = 'expense'
+            """, nativeQuery = true)
+    int recomputeExpenseBuckets(@Param("profileId") Long profileId);
+}
@@ -0,0 +1,68 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.hananfarizta.moneymanager.entity.ProfileBalanceEntity;
+import dev.hananfarizta.moneymanager.repository.projection.BalanceTotalsView;
+
+public interface ProfileBalanceRepository extends JpaRepository<ProfileBalanceEntity, Long> {
+
+    // update tbl_profile_balances set total_incomes = total_incomes + ?2 where profile_id = ?1
+    @Modifying
+    @Query("UPDATE ProfileBalanceEntity b SET b.totalIncomes = b.totalIncomes + :delta, b.updatedAt = :now WHERE b.profileId = :profileId")
+    int addToTotalIncomes(
+            @Param("profileId") Long profileId,
+            @Param("delta") BigDecimal delta,
+            @Param("now") LocalDateTime now);
+
+    // update tbl_profile_balances set total_expenses = total_expenses + ?2 where profile_id = ?1
+    @Modifying
+    @Query("UPDATE ProfileBalanceEntity b SET b.totalExpenses = b.totalExpenses + :delta, b.updatedAt = :now WHERE b.profileId = :profileId")
+    int addToTotalExpenses(
+            @Param("profileId") Long profileId,
+            @Param("delta") BigDecimal delta,
+            @Param("now") LocalDateTime now);
+
+    // total incomes and total expenses of a profile computed from the base tables
+    @Query(value = """
+            SELECT
+                (SELECT COALESCE(SUM(i.amount), 0) FROM tbl_incomes i WHERE i.profile_id = :profileId) AS totalIncomes,
+                (SELECT COALESCE(SUM(e.amount), 0) FROM tbl_expenses e WHERE e.profile_id = :profileId) AS totalExpenses
+            """, nativeQuery = true)
+    BalanceTotalsView computeTotalsByProfileId(@Param("profileId") Long profileId);
+
+    // insert-if-absent of a ledger row computed from the base tables; 0 when the row already exists
+    // or a concurrent transaction inserted it first (that insert is waited for, not failed on)
+    @Modifying
+    @Query(value = """
+            INSERT INTO tbl_profile_balances (profile_id, total_incomes, total_expenses, updated_at)
+            SELECT :profileId,
+                   (SELECT COALESCE(SUM(i.amount), 0) FROM tbl_incomes i WHERE i.profile_id = :profileId),
+                   (SELECT COALESCE(SUM(e.amount), 0) FROM tbl_expenses e WHERE e.profile_id = :profileId),
+                   CURRENT_TIMESTAMP
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertFromTransactionsIfAbsent(@Param("profileId") Long profileId);
+
+    // select ... for update: holds back concurrent deltas for this profile until the transaction ends
+    @Query(value = "SELECT b.profile_id FROM tbl_profile_balances b WHERE b.profile_id = :profileId FOR UPDATE",
+            nativeQuery = true)
+    Long lockByProfileId(@Param("profileId") Long profileId);
+
+    // reconciliation: recompute one ledger row from the base tables
+    @Modifying
+    @Query(value = """
+            UPDATE tbl_profile_balances b
+               SET total_incomes = (SELECT COALESCE(SUM(i.amount), 0) FROM tbl_incomes i WHERE i.profile_id = b.profile_id),
+                   total_expenses = (SELECT COALESCE(SUM(e.amount), 0) FROM tbl_expenses e WHERE e.profile_id = b.profile_id),
+                   updated_at = CURRENT_TIMESTAMP
+             WHERE b.profile_id = :profileId
+            """, nativeQuery = true)
+    int recomputeFromTransactions(@Param("profileId") Long profileId);
+}
@@ -1,8 +1,11 @@
 package dev.hananfarizta.moneymanager.repository;
 
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.projection.ProfileRecipientView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
@@ -14,4 +17,7 @@ public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
     Optional<ProfileEntity> findByActivationToken(String activationToken);
 
     boolean existsByEmail(String email);
+
+    // select id, full_name, email from tbl_profiles where id > ? order by id limit ?
+    List<ProfileRecipientView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,10 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface BalanceTotalsView {
+
+    BigDecimal getTotalIncomes();
+
+    BigDecimal getTotalExpenses();
+}
@@ -0,0 +1,14 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface DailyExpenseView {
+
+    Long getProfileId();
+
+    String getName();
+
+    BigDecimal getAmount();
+
+    String getCategoryName();
+}
@@ -0,0 +1,11 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface MonthlyTotalView {
+
+    // yyyyMM, e.g. 202501
+    Integer getYearMonth();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,10 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+public interface ProfileRecipientView {
+
+    Long getId();
+
+    String getFullName();
+
+    String getEmail();
+}
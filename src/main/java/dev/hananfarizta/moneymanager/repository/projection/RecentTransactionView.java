@@ -0,0 +1,7 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+public interface RecentTransactionView extends TransactionView {
+
+    // "income" or "expense"
+    String getType();
+}
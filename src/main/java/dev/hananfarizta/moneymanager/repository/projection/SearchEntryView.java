@@ -0,0 +1,12 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+import java.time.LocalDate;
+
+public interface SearchEntryView {
+
+    Long getId();
+
+    String getSearchName();
+
+    LocalDate getDate();
+}
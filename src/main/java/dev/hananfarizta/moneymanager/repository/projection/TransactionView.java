@@ -0,0 +1,27 @@
+package dev.hananfarizta.moneymanager.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Exactly the columns ExpenseDTO/IncomeDTO need, so read paths never hydrate entities
+public interface TransactionView {
+
+    Long getId();
+
+    String getName();
+
+    String getIcon();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    BigDecimal getAmount();
+
+    LocalDate getDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,12 @@
+package dev.hananfarizta.moneymanager.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Lightweight principal placed in the SecurityContext by JwtRequestFilter
+public record CurrentProfile(Long id, String email, boolean active) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,17 +1,18 @@
 package dev.hananfarizta.moneymanager.security;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,30 +23,43 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final ProfileCache profileCache;
     private final JwtUtil jwtUtil;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String email = null;
-        String jwt = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            email = jwtUtil.extractUsername(jwt);
-        }
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = jwtUtil.extractAllClaims(authHeader.substring(7));
+            CurrentProfile currentProfile = toCurrentProfile(claims);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
-                        null, userDetails.getAuthorities());
+            if (currentProfile != null && currentProfile.active()) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(currentProfile,
+                        null, Collections.emptyList());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private CurrentProfile toCurrentProfile(Claims claims) {
+        String email = claims.getSubject();
+        if (email == null) {
+            return null;
+        }
+
+        Long profileId = claims.get(JwtUtil.CLAIM_PROFILE_ID, Long.class);
+        if (profileId != null) {
+            return new CurrentProfile(profileId, email,
+                    Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_ACTIVE, Boolean.class)));
+        }
+
+        // tokens issued before the profile id claim existed
+        ProfileEntity profile = profileCache.getByEmail(email);
+        return new CurrentProfile(profile.getId(), profile.getEmail(), Boolean.TRUE.equals(profile.getIsActive()));
+    }
 }
@@ -0,0 +1,78 @@
+package dev.hananfarizta.moneymanager.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.util.BoundedTtlCache;
+
+/**
+ * Resolves profiles by email with a request-scoped memo in front of a short-lived process-wide cache,
+ * so the JWT filter and every service call within one request share a single lookup.
+ */
+@Component
+public class ProfileCache {
+
+    private static final String REQUEST_ATTRIBUTE = ProfileCache.class.getName() + ".profile";
+
+    private final ProfileRepository profileRepository;
+    private final BoundedTtlCache<String, ProfileEntity> profilesByEmail;
+
+    public ProfileCache(ProfileRepository profileRepository,
+            @Value("${app.cache.profile.max-size:10000}") int maxSize,
+            @Value("${app.cache.profile.ttl:PT1M}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.profilesByEmail = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    public ProfileEntity getByEmail(String email) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ProfileEntity memo
+                && memo.getEmail().equals(email)) {
+            return memo;
+        }
+
+        ProfileEntity cached = profilesByEmail.get(email, key -> profileRepository.findByEmail(key)
+                .orElseThrow(() -> new UsernameNotFoundException("Profile not found with email: " + key)));
+
+        // the cached snapshot is shared across requests and never handed out; each request gets one copy,
+        // which every caller within that request then shares through the memo
+        ProfileEntity profile = copyOf(cached);
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, profile, RequestAttributes.SCOPE_REQUEST);
+        }
+        return profile;
+    }
+
+    // Must be called whenever a profile is activated or changed
+    public void invalidate(ProfileEntity profile) {
+        if (profile != null && profile.getEmail() != null) {
+            profilesByEmail.invalidate(profile.getEmail());
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private ProfileEntity copyOf(ProfileEntity profile) {
+        return ProfileEntity.builder()
+                .id(profile.getId())
+                .fullName(profile.getFullName())
+                .email(profile.getEmail())
+                .password(profile.getPassword())
+                .profileImageUrl(profile.getProfileImageUrl())
+                .createdAt(profile.getCreatedAt())
+                .updatedAt(profile.getUpdatedAt())
+                .isActive(profile.getIsActive())
+                .activationToken(profile.getActivationToken())
+                .build();
+    }
+}
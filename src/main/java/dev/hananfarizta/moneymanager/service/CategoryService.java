@@ -1,48 +1,68 @@
 package dev.hananfarizta.moneymanager.service;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import dev.hananfarizta.moneymanager.dto.CategoryDTO;
 import dev.hananfarizta.moneymanager.entity.CategoryEntity;
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.repository.CategoryRepository;
-import lombok.RequiredArgsConstructor;
+import dev.hananfarizta.moneymanager.util.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CategoryService {
 
     private final ProfileService profileService;
     private final CategoryRepository categoryRepository;
 
-    // Save Category
+    // every category of a profile, read by the listing endpoints and by expense/income inserts;
+    // the lists are shared between callers and must not be modified
+    private final BoundedTtlCache<Long, List<CategoryDTO>> categoriesByProfile;
+
+    public CategoryService(ProfileService profileService,
+            CategoryRepository categoryRepository,
+            @Value("${app.cache.category.max-size:10000}") int maxSize,
+            @Value("${app.cache.category.ttl:PT10M}") Duration ttl) {
+        this.profileService = profileService;
+        this.categoryRepository = categoryRepository;
+        this.categoriesByProfile = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    // Save Category; a duplicate (name, type) is detected by the unique constraint on insert
+    @Transactional
     public Map<String, Object> saveCategory(CategoryDTO categoryDTO) {
 
         validateSavedCategory(categoryDTO);
 
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
-
-            boolean nameExists = categoryRepository
-                    .existsByNameAndTypeAndProfileId(categoryDTO.getName(), categoryDTO.getType(),
-                            profileEntity.getId());
-
-            if (nameExists) {
-                throw new IllegalArgumentException("Category with this name already exists");
-            }
+            ProfileEntity profileEntity = profileService.getCurrentProfileReference();
 
             CategoryEntity newCategory = toEntity(categoryDTO, profileEntity);
-            newCategory = categoryRepository.save(newCategory);
+            newCategory = categoryRepository.saveAndFlush(newCategory);
+            invalidateCategories(profileEntity.getId());
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("category", toDTO(newCategory));
 
             return data;
 
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, "Category with this name already exists");
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -83,15 +103,12 @@ public class CategoryService {
     }
 
     // Get categories for current user
+    @Transactional(readOnly = true)
     public Map<String, Object> getCategoriesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
-            List<CategoryDTO> categoryDTOs = categoryRepository
-                    .findByProfileId(profileEntity.getId())
-                    .stream()
-                    .map(this::toDTO)
-                    .toList();
+            List<CategoryDTO> categoryDTOs = getCategories(profileId);
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("categories", categoryDTOs);
@@ -106,14 +123,14 @@ public class CategoryService {
     }
 
     // Get categories by type
+    @Transactional(readOnly = true)
     public Map<String, Object> getCategoriesByType(String type) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
-            List<CategoryDTO> categoryDTOs = categoryRepository
-                    .findByTypeAndProfileId(type, profileEntity.getId())
+            List<CategoryDTO> categoryDTOs = getCategories(profileId)
                     .stream()
-                    .map(this::toDTO)
+                    .filter(category -> type != null && type.equals(category.getType()))
                     .toList();
 
             if (categoryDTOs.isEmpty()) {
@@ -132,49 +149,28 @@ public class CategoryService {
         }
     }
 
-    // Update category
+    // Update category: one select and one update; a clash with another category of the same
+    // name and type is reported by the unique constraint when the update is flushed
+    @Transactional
     public Map<String, Object> updateCategory(Long categoryId, CategoryDTO categoryDTO) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
             CategoryEntity existingCategory = categoryRepository
-                    .findByIdAndProfileId(categoryId, profileEntity.getId())
+                    .findByIdAndProfileId(categoryId, profileId)
                     .orElseThrow(() -> new IllegalArgumentException("Category not found or not accessible"));
 
             if (categoryDTO.getName() != null && categoryDTO.getName().isBlank()) {
                 throw new IllegalArgumentException("Category name cannot be empty");
             }
 
-            boolean duplicateExists = categoryRepository
-                    .existsByNameAndTypeAndIconAndProfileIdAndIdNot(
-                            categoryDTO.getName() != null ? categoryDTO.getName() : existingCategory.getName(),
-                            categoryDTO.getType() != null ? categoryDTO.getType() : existingCategory.getType(),
-                            categoryDTO.getIcon() != null ? categoryDTO.getIcon() : existingCategory.getIcon(),
-                            profileEntity.getId(),
-                            categoryId);
-
-            if (duplicateExists) {
-                throw new IllegalArgumentException("Category with this name and type already exists");
-            }
-
-            if (categoryDTO.getName() != null) {
-                boolean nameExists = categoryRepository.existsByNameAndProfileIdAndIdNot(
-                        categoryDTO.getName(),
-                        profileEntity.getId(),
-                        categoryId);
-
-                if (nameExists) {
-                    throw new IllegalArgumentException("Category name already exists");
-                }
-            }
-
             boolean isSameData = (categoryDTO.getName() == null
-                    || existingCategory.getName().equals(categoryDTO.getName())) &&
+                    || Objects.equals(existingCategory.getName(), categoryDTO.getName())) &&
                     (categoryDTO.getType() == null ||
-                            existingCategory.getType().equals(categoryDTO.getType()))
+                            Objects.equals(existingCategory.getType(), categoryDTO.getType()))
                     &&
                     (categoryDTO.getIcon() == null ||
-                            existingCategory.getIcon().equals(categoryDTO.getIcon()));
+                            Objects.equals(existingCategory.getIcon(), categoryDTO.getIcon()));
 
             if (isSameData) {
                 throw new IllegalArgumentException("No changes detected in the category");
@@ -192,13 +188,16 @@ public class CategoryService {
                 existingCategory.setIcon(categoryDTO.getIcon());
             }
 
-            existingCategory = categoryRepository.save(existingCategory);
+            existingCategory = categoryRepository.saveAndFlush(existingCategory);
+            invalidateCategories(profileId);
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("category", toDTO(existingCategory));
 
             return data;
 
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, "Category with this name and type already exists");
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -206,4 +205,56 @@ public class CategoryService {
         }
     }
 
+    // Read-through lookup for the insert paths; empty when the category does not belong to the profile
+    public Optional<CategoryDTO> findCategory(Long profileId, Long categoryId) {
+        if (categoryId == null) {
+            return Optional.empty();
+        }
+        return getCategories(profileId).stream()
+                .filter(category -> categoryId.equals(category.getId()))
+                .findFirst();
+    }
+
+    public BoundedTtlCache.Stats getCacheStats() {
+        return categoriesByProfile.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.category.stats-interval:PT10M}")
+    public void logCacheStats() {
+        BoundedTtlCache.Stats stats = categoriesByProfile.stats();
+        if (stats.hits() + stats.misses() > 0) {
+            log.info("Category cache: {} hits, {} misses ({}% hit rate), {} profiles cached",
+                    stats.hits(), stats.misses(), Math.round(stats.hitRate() * 100), stats.size());
+        }
+    }
+
+    private List<CategoryDTO> getCategories(Long profileId) {
+        return categoriesByProfile.get(profileId, id -> categoryRepository.findByProfileId(id)
+                .stream()
+                .map(this::toDTO)
+                .toList());
+    }
+
+    // Maps a violation of uk_categories_profile_name_type to the user-facing message; anything else is a bug
+    private RuntimeException duplicateOr(DataIntegrityViolationException e, String message) {
+        String cause = e.getMostSpecificCause().getMessage();
+        if (cause != null && cause.toLowerCase(Locale.ROOT).contains(CategoryEntity.UNIQUE_NAME_CONSTRAINT)) {
+            return new IllegalArgumentException(message);
+        }
+        return new RuntimeException("Failed to save category", e);
+    }
+
+    // Dropped now and again after commit: the second drop removes a list loaded from the old rows
+    // while the transaction was open, and a load still running at that point is not cached
+    private void invalidateCategories(Long profileId) {
+        categoriesByProfile.invalidate(profileId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoriesByProfile.invalidate(profileId);
+                }
+            });
+        }
+    }
 }
@@ -1,85 +1,334 @@
 package dev.hananfarizta.moneymanager.service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
 import dev.hananfarizta.moneymanager.dto.IncomeDTO;
 import dev.hananfarizta.moneymanager.dto.RecentTransactionDTO;
-import dev.hananfarizta.moneymanager.entity.ProfileEntity;
-import lombok.RequiredArgsConstructor;
+import dev.hananfarizta.moneymanager.entity.ProfileBalanceEntity;
+import dev.hananfarizta.moneymanager.repository.DashboardRepository;
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import dev.hananfarizta.moneymanager.repository.projection.RecentTransactionView;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import dev.hananfarizta.moneymanager.util.TransactionCursor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
 
-    private final ExpenseService expenseService;
-    private final IncomeService incomeService;
+    private static final int RECENT_LIMIT = 5;
+
+    public static final int MAX_FEED_LIMIT = 100;
+
+    // the feed has no date filter; these bound the keyset query's date range
+    private static final LocalDate FEED_START = LocalDate.MIN;
+    private static final LocalDate FEED_END = LocalDate.of(9999, 12, 31);
+
+    // (date, created_at, id) descending, the order of findPageBefore
+    private static final Comparator<TransactionView> FEED_ORDER = Comparator
+            .comparing(TransactionView::getDate)
+            .thenComparing(TransactionView::getCreatedAt)
+            .thenComparing(TransactionView::getId)
+            .reversed();
+
+    private final DashboardRepository dashboardRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ProfileBalanceService profileBalanceService;
     private final ProfileService profileService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean parallel;
+    private final Duration subqueryTimeout;
+
+    // one virtual thread per sub-query, running with the caller's SecurityContext; null unless parallel
+    private final ExecutorService subqueryExecutor;
+
+    // sub-queries in flight across all requests, each holding a pool connection; a request that cannot
+    // get a permit for both reads falls back to the sequential path and its single connection
+    private final Semaphore subqueryPermits;
+
+    public DashboardService(DashboardRepository dashboardRepository,
+            IncomeRepository incomeRepository,
+            ExpenseRepository expenseRepository,
+            ProfileBalanceService profileBalanceService,
+            ProfileService profileService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.dashboard.parallel:false}") boolean parallel,
+            @Value("${app.dashboard.subquery-timeout:PT2S}") Duration subqueryTimeout,
+            @Value("${app.dashboard.max-parallel-subqueries:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxParallelSubqueries) {
+        this.dashboardRepository = dashboardRepository;
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.profileBalanceService = profileBalanceService;
+        this.profileService = profileService;
+        this.parallel = parallel;
+        this.subqueryTimeout = subqueryTimeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.subqueryPermits = new Semaphore(maxParallelSubqueries);
+        this.subqueryExecutor = parallel
+                ? new DelegatingSecurityContextExecutorService(
+                        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory()))
+                : null;
+        if (parallel) {
+            // also bounds the statements, so a timed-out sub-query does not keep running in the database
+            this.readOnlyTransaction.setTimeout((int) Math.max(1, (subqueryTimeout.toMillis() + 999) / 1000));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subqueryExecutor != null) {
+            subqueryExecutor.shutdownNow();
+        }
+    }
 
+    // Resolves the profile once, reads totals from the balance ledger and both recent lists in one statement.
+    // With app.dashboard.parallel the two reads run concurrently in their own read-only transactions;
+    // a read that fails or misses the timeout is left out and named under "unavailable".
+    // Parallel reads are capped by app.dashboard.max-parallel-subqueries; past it requests read sequentially.
     public Map<String, Object> getDashboardData() {
+        Long profileId = profileService.getCurrentProfileId();
+
+        if (!parallel || !subqueryPermits.tryAcquire(2)) {
+            return readOnlyTransaction.execute(status -> toDashboardData(profileId,
+                    profileBalanceService.getBalance(profileId),
+                    dashboardRepository.findRecentTransactionsByProfileId(profileId, RECENT_LIMIT),
+                    List.of()));
+        }
+
+        Future<ProfileBalanceEntity> balance = submit(
+                () -> readOnlyTransaction.execute(status -> profileBalanceService.getBalance(profileId)));
+        Future<List<RecentTransactionView>> recent = submit(
+                () -> readOnlyTransaction.execute(status -> dashboardRepository
+                        .findRecentTransactionsByProfileId(profileId, RECENT_LIMIT)));
+
+        long deadline = System.nanoTime() + subqueryTimeout.toNanos();
+        List<String> unavailable = new ArrayList<>();
+        return toDashboardData(profileId,
+                await(balance, deadline, "totals", unavailable),
+                await(recent, deadline, "recentTransactions", unavailable),
+                unavailable);
+    }
+
+    // Newest `limit` incomes and expenses as a k-way merge of two keyset cursors. Each cursor reads
+    // ceil(limit / 2) rows first and is only refilled, by the number of items still missing, when it
+    // runs dry; the merge stops at limit, so at most limit + ceil(limit / 2) rows are read and nothing is sorted.
+    @Transactional(readOnly = true)
+    public List<RecentTransactionDTO> getRecentTransactions(int limit) {
+        if (limit < 1 || limit > MAX_FEED_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_FEED_LIMIT);
+        }
+        Long profileId = profileService.getCurrentProfileId();
+        int firstChunk = (limit + 1) / 2;
+
+        FeedCursor incomes = new FeedCursor(firstChunk, (position, size) -> incomeRepository.findPageBefore(
+                profileId, FEED_START, FEED_END, null, position.date(), position.createdAt(), position.id(),
+                Limit.of(size)));
+        FeedCursor expenses = new FeedCursor(firstChunk, (position, size) -> expenseRepository.findPageBefore(
+                profileId, FEED_START, FEED_END, null, position.date(), position.createdAt(), position.id(),
+                Limit.of(size)));
+
+        List<RecentTransactionDTO> feed = new ArrayList<>(limit);
+        while (feed.size() < limit) {
+            int missing = limit - feed.size();
+            TransactionView income = incomes.peek(missing);
+            TransactionView expense = expenses.peek(missing);
+            if (income == null && expense == null) {
+                break;
+            }
+            if (expense == null || (income != null && FEED_ORDER.compare(income, expense) <= 0)) {
+                feed.add(toRecentTransactionDTO(incomes.next(), "income", profileId));
+            } else {
+                feed.add(toRecentTransactionDTO(expenses.next(), "expense", profileId));
+            }
+        }
+        return feed;
+    }
+
+    private Map<String, Object> toDashboardData(Long profileId, ProfileBalanceEntity balance,
+            List<RecentTransactionView> recent, List<String> unavailable) {
         Map<String, Object> returnValue = new LinkedHashMap<>();
 
-        ProfileEntity profileEntity = profileService.getCurrentProfile();
-
-        Map<String, Object> incomeMap = incomeService.getLatestFiveIncomesForCurrentUser();
-        Map<String, Object> expenseMap = expenseService.getLatestFiveExpensesForCurrentUser();
-
-        List<IncomeDTO> latestIncomes = (List<IncomeDTO>) incomeMap.getOrDefault("latestIncomes", List.of());
-        List<ExpenseDTO> latestExpenses = (List<ExpenseDTO>) expenseMap.getOrDefault("latestExpenses", List.of());
-
-        List<RecentTransactionDTO> recentTransactionDTO = concat(
-                latestIncomes.stream().map(income -> RecentTransactionDTO.builder()
-                        .id(income.getId())
-                        .profileId(profileEntity.getId())
-                        .icon(income.getIcon())
-                        .name(income.getName())
-                        .amount(income.getAmount())
-                        .date(income.getDate())
-                        .createdAt(income.getCreatedAt())
-                        .updatedAt(income.getUpdatedAt())
-                        .type("income")
-                        .build()),
-                latestExpenses.stream().map(expense -> RecentTransactionDTO.builder()
-                        .id(expense.getId())
-                        .profileId(profileEntity.getId())
-                        .icon(expense.getIcon())
-                        .name(expense.getName())
-                        .amount(expense.getAmount())
-                        .date(expense.getDate())
-                        .createdAt(expense.getCreatedAt())
-                        .updatedAt(expense.getUpdatedAt())
-                        .type("expense")
-                        .build()))
-                .sorted((a, b) -> {
-                    int cmp = b.getDate().compareTo(a.getDate());
-                    if (cmp == 0 && a.getCreatedAt() != null && b.getCreatedAt() != null) {
-                        return b.getCreatedAt().compareTo(a.getCreatedAt());
-                    }
-                    return cmp;
-                })
-                .toList();
-
-        returnValue.put("totalBalance",
-                incomeService.getTotalIncomesForCurrentUser()
-                        .subtract(expenseService.getTotalExpensesForCurrentUser()));
-
-        returnValue.put("totalIncomes", incomeService.getTotalIncomesForCurrentUser());
-        returnValue.put("totalExpenses", expenseService.getTotalExpensesForCurrentUser());
+        List<IncomeDTO> latestIncomes = new ArrayList<>();
+        List<ExpenseDTO> latestExpenses = new ArrayList<>();
+        List<RecentTransactionDTO> recentTransactions = new ArrayList<>();
+
+        // rows arrive newest first, so every list built from them is already in display order
+        for (RecentTransactionView row : recent != null ? recent : List.<RecentTransactionView>of()) {
+            if ("income".equals(row.getType())) {
+                latestIncomes.add(toIncomeDTO(row));
+            } else {
+                latestExpenses.add(toExpenseDTO(row));
+            }
+            recentTransactions.add(toRecentTransactionDTO(row, profileId));
+        }
+
+        returnValue.put("totalBalance", balance != null ? balance.getTotalBalance() : null);
+        returnValue.put("totalIncomes", balance != null ? balance.getTotalIncomes() : null);
+        returnValue.put("totalExpenses", balance != null ? balance.getTotalExpenses() : null);
 
         returnValue.put("recent5Expenses", latestExpenses);
         returnValue.put("recent5Incomes", latestIncomes);
 
-        returnValue.put("recentTransactions", recentTransactionDTO);
+        returnValue.put("recentTransactions", recentTransactions);
+
+        if (!unavailable.isEmpty()) {
+            returnValue.put("unavailable", unavailable);
+        }
 
         return returnValue;
     }
 
-    private <T> Stream<T> concat(Stream<T> a, Stream<T> b) {
-        return Stream.concat(a, b);
+    // helper methods
+    private <T> T await(Future<T> future, long deadline, String part, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Dashboard {} failed", part, e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Dashboard {} timed out after {}", part, subqueryTimeout);
+        }
+        future.cancel(true);
+        unavailable.add(part);
+        return null;
+    }
+
+    // runs a sub-query under a permit the caller already took; the permit is returned when the
+    // sub-query ends, not when its caller stops waiting, so a timed-out read still counts until cancelled
+    private <T> Future<T> submit(Callable<T> subquery) {
+        try {
+            return subqueryExecutor.submit(() -> {
+                try {
+                    return subquery.call();
+                } finally {
+                    subqueryPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            subqueryPermits.release();
+            throw e;
+        }
+    }
+
+    private IncomeDTO toIncomeDTO(RecentTransactionView row) {
+        return IncomeDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryname(row.getCategoryName() != null ? row.getCategoryName() : "N/A")
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private ExpenseDTO toExpenseDTO(RecentTransactionView row) {
+        return ExpenseDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName() != null ? row.getCategoryName() : "N/A")
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private RecentTransactionDTO toRecentTransactionDTO(RecentTransactionView row, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(row.getId())
+                .profileId(profileId)
+                .icon(row.getIcon())
+                .name(row.getName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .type(row.getType())
+                .build();
+    }
+
+    private RecentTransactionDTO toRecentTransactionDTO(TransactionView row, String type, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(row.getId())
+                .profileId(profileId)
+                .icon(row.getIcon())
+                .name(row.getName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .type(type)
+                .build();
+    }
+
+    // One side of the feed merge: buffered rows plus the keyset position after the last row read
+    private static final class FeedCursor {
+
+        private final BiFunction<TransactionCursor, Integer, List<TransactionView>> fetch;
+        private final ArrayDeque<TransactionView> buffer = new ArrayDeque<>();
+        private int nextChunk;
+        private TransactionCursor position = TransactionCursor.first(FEED_END);
+        private boolean exhausted;
+
+        FeedCursor(int firstChunk, BiFunction<TransactionCursor, Integer, List<TransactionView>> fetch) {
+            this.nextChunk = firstChunk;
+            this.fetch = fetch;
+        }
+
+        // null once this side has no more rows
+        TransactionView peek(int missing) {
+            if (buffer.isEmpty() && !exhausted) {
+                int size = Math.min(nextChunk, missing);
+                nextChunk = Integer.MAX_VALUE;
+                List<TransactionView> rows = fetch.apply(position, size);
+                exhausted = rows.size() < size;
+                if (!rows.isEmpty()) {
+                    TransactionView last = rows.get(rows.size() - 1);
+                    position = new TransactionCursor(last.getDate(), last.getCreatedAt(), last.getId());
+                    buffer.addAll(rows);
+                }
+            }
+            return buffer.peekFirst();
+        }
+
+        TransactionView next() {
+            return buffer.pollFirst();
+        }
     }
 }
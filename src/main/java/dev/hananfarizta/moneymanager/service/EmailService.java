@@ -1,30 +1,66 @@
 package dev.hananfarizta.moneymanager.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import dev.hananfarizta.moneymanager.dto.EmailDeliveryResultDTO;
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import dev.hananfarizta.moneymanager.entity.MailOutboxEntity;
+import dev.hananfarizta.moneymanager.repository.MailOutboxRepository;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${SMTP_MAIL_FROM}")
-    private String fromEmail;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailDispatcher mailDispatcher;
+    private final SmtpTransportPool smtpTransportPool;
 
+    // Records the message in the outbox; delivery happens on the dispatcher's workers
     public void sendEmail(String to, String subject, String body) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
+            MailOutboxEntity mail = mailOutboxRepository.save(toOutbox(to, subject, body, false));
+            mailDispatcher.submit(mail.getId());
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    // Bulk variant for background jobs: one insert transaction per batch, and the caller waits for
+    // queue space instead of overrunning the dispatcher
+    public void sendEmails(List<EmailMessageDTO> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            List<MailOutboxEntity> mails = mailOutboxRepository.saveAll(messages.stream()
+                    .map(message -> toOutbox(message.getTo(), message.getSubject(), message.getBody(),
+                            message.isHtml()))
+                    .toList());
+            mailDispatcher.submitAll(mails.stream().map(MailOutboxEntity::getId).toList());
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    // Sends the batch right away over a pooled SMTP connection, bypassing the outbox; one result per message
+    public List<EmailDeliveryResultDTO> deliverNow(List<EmailMessageDTO> messages) {
+        return smtpTransportPool.sendAll(messages);
+    }
+
+    // helper methods
+    private MailOutboxEntity toOutbox(String to, String subject, String body, boolean html) {
+        return MailOutboxEntity.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .html(html)
+                .status(MailOutboxEntity.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
 }
@@ -0,0 +1,146 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ExcelExportService {
+
+    public static final MediaType XLSX = MediaType
+            .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    public static final String TYPE_ALL = "all";
+
+    // rows kept in memory per sheet; older rows are flushed to a compressed temp file
+    static final int ROW_WINDOW = 100;
+
+    // header takes row 0, so a sheet holds one row less than Excel's limit before rolling over
+    static final int MAX_DATA_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    private static final String[] HEADERS = { "Date", "Name", "Category", "Amount" };
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "date", "createdAt");
+
+    private final ExpenseService expenseService;
+    private final IncomeService incomeService;
+
+    // Streams the profile's incomes and/or expenses in [startDate, endDate] into an .xlsx written to out.
+    // Rows come straight from the database cursor, so memory does not grow with the number of rows.
+    public long export(Long profileId, String type, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        return export(profileId, type, startDate, endDate, null, OLDEST_FIRST, out);
+    }
+
+    // Same as above for an arbitrary /filter criteria; returns the number of data rows written
+    public long export(Long profileId, String type, LocalDate startDate, LocalDate endDate, String keyword,
+            Sort sort, OutputStream out) throws IOException {
+        validateType(type);
+
+        // close() also deletes the temporary sheet files
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW)) {
+            workbook.setCompressTempFiles(true);
+            Styles styles = new Styles(workbook);
+            long rows = 0;
+
+            if (!MonthlyRollupService.TYPE_EXPENSE.equals(type)) {
+                SheetWriter incomes = new SheetWriter(workbook, styles, "Incomes");
+                incomeService.streamIncomes(profileId, startDate, endDate, keyword, sort,
+                        income -> incomes.write(income.getDate(), income.getName(), income.getCategoryname(),
+                                income.getAmount()));
+                rows += incomes.rows;
+            }
+            if (!MonthlyRollupService.TYPE_INCOME.equals(type)) {
+                SheetWriter expenses = new SheetWriter(workbook, styles, "Expenses");
+                expenseService.streamExpenses(profileId, startDate, endDate, keyword, sort,
+                        expense -> expenses.write(expense.getDate(), expense.getName(), expense.getCategoryName(),
+                                expense.getAmount()));
+                rows += expenses.rows;
+            }
+
+            workbook.write(out);
+            return rows;
+        }
+    }
+
+    // separate so callers can reject a bad type before the response is committed
+    public static void validateType(String type) {
+        if (!TYPE_ALL.equals(type) && !MonthlyRollupService.TYPE_INCOME.equals(type)
+                && !MonthlyRollupService.TYPE_EXPENSE.equals(type)) {
+            throw new IllegalArgumentException("Invalid type specified. Must be 'income', 'expense' or 'all'.");
+        }
+    }
+
+    private record Styles(CellStyle header, CellStyle date, CellStyle amount) {
+
+        Styles(SXSSFWorkbook workbook) {
+            this(workbook.createCellStyle(), workbook.createCellStyle(), workbook.createCellStyle());
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header.setFont(bold);
+            date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            amount.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+        }
+    }
+
+    // Appends rows to a sheet, starting "<name> (2)", "<name> (3)", ... once a sheet is full
+    private static final class SheetWriter {
+
+        private final SXSSFWorkbook workbook;
+        private final Styles styles;
+        private final String name;
+        private SXSSFSheet sheet;
+        private int sheetCount;
+        private int rowIndex;
+        private long rows;
+
+        SheetWriter(SXSSFWorkbook workbook, Styles styles, String name) {
+            this.workbook = workbook;
+            this.styles = styles;
+            this.name = name;
+            nextSheet();
+        }
+
+        void write(LocalDate date, String transactionName, String category, BigDecimal amount) {
+            if (rowIndex > MAX_DATA_ROWS_PER_SHEET) {
+                nextSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            rows++;
+            if (date != null) {
+                row.createCell(0).setCellValue(date);
+                row.getCell(0).setCellStyle(styles.date());
+            }
+            row.createCell(1).setCellValue(transactionName);
+            row.createCell(2).setCellValue(category);
+            if (amount != null) {
+                row.createCell(3).setCellValue(amount.doubleValue());
+                row.getCell(3).setCellStyle(styles.amount());
+            }
+        }
+
+        private void nextSheet() {
+            sheetCount++;
+            sheet = workbook.createSheet(sheetCount == 1 ? name : name + " (" + sheetCount + ")");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+                header.getCell(i).setCellStyle(styles.header());
+            }
+            rowIndex = 1;
+        }
+    }
+}
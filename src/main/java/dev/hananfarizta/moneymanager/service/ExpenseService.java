@@ -1,44 +1,82 @@
 package dev.hananfarizta.moneymanager.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import dev.hananfarizta.moneymanager.dto.CategoryDTO;
+import dev.hananfarizta.moneymanager.dto.CursorPageDTO;
 import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
 import dev.hananfarizta.moneymanager.entity.CategoryEntity;
 import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.repository.CategoryRepository;
 import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import dev.hananfarizta.moneymanager.util.SearchText;
+import dev.hananfarizta.moneymanager.util.TransactionCsv;
+import dev.hananfarizta.moneymanager.util.TransactionCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ExpenseService {
 
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // rows per flush/clear during imports; each flush goes out as hibernate.jdbc.batch_size batches
+    private static final int IMPORT_FLUSH_SIZE = 500;
+
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final ProfileService profileService;
     private final ExpenseRepository expenseRepository;
+    private final ProfileBalanceService profileBalanceService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionNameSearch transactionNameSearch;
+    private final EntityManager entityManager;
+
+    @Value("${app.import.max-rows:10000}")
+    private int importMaxRows;
 
     // Add Expense
+    @Transactional
     public Map<String, Object> addExpense(ExpenseDTO expenseDTO) {
         validateAddedExpense(expenseDTO);
 
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            ProfileEntity profileEntity = profileService.getCurrentProfileReference();
 
-            CategoryEntity categoryEntity = categoryRepository.findById(expenseDTO.getCategoryId())
+            CategoryDTO category = categoryService.findCategory(profileEntity.getId(), expenseDTO.getCategoryId())
                     .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+            CategoryEntity categoryEntity = categoryRepository.getReferenceById(category.getId());
 
             ExpenseEntity newExpense = toEntity(expenseDTO, profileEntity, categoryEntity);
             newExpense = expenseRepository.save(newExpense);
+            profileBalanceService.applyExpense(profileEntity.getId(), newExpense.getAmount());
+            monthlyRollupService.applyExpense(profileEntity.getId(), categoryEntity.getId(), newExpense.getDate(),
+                    newExpense.getAmount(), 1);
+            transactionNameSearch.invalidateExpenses(profileEntity.getId());
 
             Map<String, Object> data = new LinkedHashMap<>();
-            data.put("expense", toDTO(newExpense));
+            data.put("expense", toDTO(newExpense, category));
 
             return data;
 
@@ -49,6 +87,100 @@ public class ExpenseService {
         }
     }
 
+    // Bulk import: all rows are validated before anything is written, categories are resolved in one
+    // query, and the balance/rollup updates are applied once per batch instead of once per row
+    @Transactional
+    public Map<String, Object> importExpenses(List<ExpenseDTO> expenseDTOs) {
+        if (expenseDTOs == null || expenseDTOs.isEmpty()) {
+            throw new IllegalArgumentException("Import must contain at least one expense");
+        }
+        if (expenseDTOs.size() > importMaxRows) {
+            throw new IllegalArgumentException("Import is limited to " + importMaxRows + " rows");
+        }
+        for (int i = 0; i < expenseDTOs.size(); i++) {
+            try {
+                validateAddedExpense(expenseDTOs.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Row " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        try {
+            ProfileEntity profileEntity = profileService.getCurrentProfileReference();
+            Long profileId = profileEntity.getId();
+            Map<Long, CategoryEntity> categories = resolveImportCategories(expenseDTOs, profileId);
+
+            BigDecimal total = BigDecimal.ZERO;
+            Map<RollupKey, BigDecimal> rollupAmounts = new HashMap<>();
+            Map<RollupKey, Long> rollupCounts = new HashMap<>();
+            List<ExpenseEntity> batch = new ArrayList<>(IMPORT_FLUSH_SIZE);
+            for (ExpenseDTO expenseDTO : expenseDTOs) {
+                LocalDate date = expenseDTO.getDate() != null ? expenseDTO.getDate() : LocalDate.now();
+                RollupKey key = new RollupKey(expenseDTO.getCategoryId(), YearMonth.from(date));
+                rollupAmounts.merge(key, expenseDTO.getAmount(), BigDecimal::add);
+                rollupCounts.merge(key, 1L, Long::sum);
+                total = total.add(expenseDTO.getAmount());
+
+                batch.add(toEntity(expenseDTO, profileEntity, categories.get(expenseDTO.getCategoryId())));
+                if (batch.size() == IMPORT_FLUSH_SIZE) {
+                    saveImportBatch(batch);
+                }
+            }
+            saveImportBatch(batch);
+
+            profileBalanceService.applyExpense(profileId, total);
+            rollupAmounts.forEach((key, amount) -> monthlyRollupService.applyExpense(profileId, key.categoryId(),
+                    key.month().atDay(1), amount, rollupCounts.get(key)));
+            transactionNameSearch.invalidateExpenses(profileId);
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("imported", expenseDTOs.size());
+
+            return data;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to import expenses", e);
+        }
+    }
+
+    // CSV variant of importExpenses, see TransactionCsv for the accepted format
+    @Transactional
+    public Map<String, Object> importExpensesCsv(Reader reader) {
+        List<ExpenseDTO> expenseDTOs = TransactionCsv.read(reader, importMaxRows).stream()
+                .map(row -> ExpenseDTO.builder()
+                        .name(row.name())
+                        .icon(row.icon())
+                        .categoryId(row.categoryId())
+                        .amount(row.amount())
+                        .date(row.date())
+                        .build())
+                .toList();
+        return importExpenses(expenseDTOs);
+    }
+
+    private Map<Long, CategoryEntity> resolveImportCategories(List<ExpenseDTO> expenseDTOs, Long profileId) {
+        Set<Long> categoryIds = expenseDTOs.stream().map(ExpenseDTO::getCategoryId).collect(Collectors.toSet());
+        Map<Long, CategoryEntity> categories = new HashMap<>();
+        for (Long categoryId : categoryIds) {
+            CategoryDTO category = categoryService.findCategory(profileId, categoryId)
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryId));
+            categories.put(categoryId, categoryRepository.getReferenceById(category.getId()));
+        }
+        return categories;
+    }
+
+    // flush sends the pending inserts as JDBC batches, clear keeps the persistence context small
+    private void saveImportBatch(List<ExpenseEntity> batch) {
+        expenseRepository.saveAll(batch);
+        expenseRepository.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private record RollupKey(Long categoryId, YearMonth month) {
+    }
+
     public void validateAddedExpense(ExpenseDTO expenseDTO) {
         if (expenseDTO == null) {
             throw new IllegalArgumentException("Expense data cannot be null");
@@ -79,13 +211,13 @@ public class ExpenseService {
                 .build();
     }
 
-    private ExpenseDTO toDTO(ExpenseEntity expenseEntity) {
+    private ExpenseDTO toDTO(ExpenseEntity expenseEntity, CategoryDTO category) {
         return ExpenseDTO.builder()
                 .id(expenseEntity.getId())
                 .name(expenseEntity.getName())
                 .icon(expenseEntity.getIcon())
-                .categoryId(expenseEntity.getCategory() != null ? expenseEntity.getCategory().getId() : null)
-                .categoryName(expenseEntity.getCategory() != null ? expenseEntity.getCategory().getName() : "N/A")
+                .categoryId(category.getId())
+                .categoryName(category.getName())
                 .amount(expenseEntity.getAmount())
                 .date(expenseEntity.getDate())
                 .createdAt(expenseEntity.getCreatedAt())
@@ -93,17 +225,32 @@ public class ExpenseService {
                 .build();
     }
 
+    private ExpenseDTO toDTO(TransactionView view) {
+        return ExpenseDTO.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .icon(view.getIcon())
+                .categoryId(view.getCategoryId())
+                .categoryName(view.getCategoryName() != null ? view.getCategoryName() : "N/A")
+                .amount(view.getAmount())
+                .date(view.getDate())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+
     // Retrieve Expenses for The Current month/based on the start date and end date
+    @Transactional(readOnly = true)
     public Map<String, Object> getCurrentMonthExpensesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
             LocalDate now = LocalDate.now();
             LocalDate startDate = now.withDayOfMonth(1);
             LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
 
             List<ExpenseDTO> expenseDTOs = expenseRepository
-                    .findByProfileIdAndDateBetween(profileEntity.getId(), startDate, endDate)
+                    .findViewsByProfileIdAndDateBetween(profileId, startDate, endDate, Sort.unsorted())
                     .stream()
                     .map(this::toDTO)
                     .toList();
@@ -119,19 +266,70 @@ public class ExpenseService {
         }
     }
 
+    // Current month, one keyset page at a time
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> getCurrentMonthExpensesPageForCurrentUser(String cursor, Integer size) {
+        LocalDate now = LocalDate.now();
+        return getExpensesPage(now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()), null, cursor, size);
+    }
+
+    // Keyset page ordered by (date, created_at, id) descending; one row past the page tells whether there is more
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> getExpensesPage(LocalDate startDate, LocalDate endDate, String keyword,
+            String cursor, Integer size) {
+        try {
+            Long profileId = profileService.getCurrentProfileId();
+            int pageSize = TransactionCursor.pageSize(size);
+            TransactionCursor position = TransactionCursor.decode(cursor, endDate);
+            String pattern = SearchText.containsPattern(keyword);
+
+            List<TransactionView> rows = expenseRepository.findPageBefore(profileId, startDate, endDate, pattern,
+                    position.date(), position.createdAt(), position.id(), Limit.of(pageSize + 1));
+
+            String nextCursor = null;
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                TransactionView last = rows.get(pageSize - 1);
+                nextCursor = new TransactionCursor(last.getDate(), last.getCreatedAt(), last.getId()).encode();
+            }
+
+            return new CursorPageDTO<>(rows.stream().map(this::toDTO).toList(), nextCursor);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get expenses page", e);
+        }
+    }
+
+    // Hands each row to the sink as it is read; projections never enter the persistence context.
+    // Takes the profile id because it usually runs on the async response thread, outside the security context.
+    @Transactional(readOnly = true)
+    public void streamExpenses(Long profileId, LocalDate startDate, LocalDate endDate, String keyword, Sort sort,
+            Consumer<ExpenseDTO> sink) {
+        try (Stream<TransactionView> rows = expenseRepository.streamByProfileId(profileId, startDate, endDate,
+                SearchText.containsPattern(keyword), sort.and(Sort.by(Sort.Direction.DESC, "id")))) {
+            rows.map(this::toDTO).forEach(sink);
+        }
+    }
+
     // Delete Expense by Id for Current User
+    @Transactional
     public void deleteExpense(Long expenseId) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
             ExpenseEntity expenseEntity = expenseRepository.findById(expenseId)
                     .orElseThrow(() -> new IllegalArgumentException("Expense not found"));
 
-            if (!expenseEntity.getProfile().getId().equals(profileEntity.getId())) {
+            if (!expenseEntity.getProfile().getId().equals(profileId)) {
                 throw new IllegalArgumentException("Unauthorized to delete this expense");
             }
 
             expenseRepository.delete(expenseEntity);
+            profileBalanceService.applyExpense(profileId, expenseEntity.getAmount().negate());
+            monthlyRollupService.applyExpense(profileId, expenseEntity.getCategory().getId(),
+                    expenseEntity.getDate(), expenseEntity.getAmount().negate(), -1);
+            transactionNameSearch.invalidateExpenses(profileId);
 
         } catch (IllegalArgumentException e) {
             throw e;
@@ -141,11 +339,12 @@ public class ExpenseService {
     }
 
     // Get Latest 5 Expenses for current user
+    @Transactional(readOnly = true)
     public Map<String, Object> getLatestFiveExpensesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
             List<ExpenseDTO> expenseDTOs = expenseRepository
-                    .findTop5ByProfileIdOrderByDateDesc(profileEntity.getId())
+                    .findRecentViewsByProfileId(profileId, Limit.of(5))
                     .stream()
                     .map(this::toDTO)
                     .toList();
@@ -162,10 +361,11 @@ public class ExpenseService {
     }
 
     // Get total expenses for current user
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
-            BigDecimal totalExpenses = expenseRepository.findTotalExpenseByProfileId(profileEntity.getId());
+            Long profileId = profileService.getCurrentProfileId();
+            BigDecimal totalExpenses = expenseRepository.findTotalExpenseByProfileId(profileId);
             
             return totalExpenses != null ? totalExpenses : BigDecimal.ZERO;
         } catch (IllegalArgumentException e) {
@@ -176,16 +376,27 @@ public class ExpenseService {
     }
 
     // Filter Expenses
+    // a keyword goes through TransactionNameSearch and comes back ranked unless another sort field is given
+    @Transactional(readOnly = true)
     public Map<String, Object> filterExpenses(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
-
-            List<ExpenseDTO> expenseDTOs = expenseRepository
-                    .findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-                            profileEntity.getId(), startDate, endDate, keyword, sort)
-                    .stream()
-                    .map(this::toDTO)
-                    .toList();
+            Long profileId = profileService.getCurrentProfileId();
+
+            List<ExpenseDTO> expenseDTOs;
+            if (keyword == null || keyword.isBlank()) {
+                comparatorFor(sort); // rejects unknown sort fields the same way the keyword path does
+                expenseDTOs = expenseRepository
+                        .findViewsByProfileIdAndDateBetween(profileId, startDate, endDate, sort)
+                        .stream()
+                        .map(this::toDTO)
+                        .toList();
+            } else {
+                List<Long> rankedIds = transactionNameSearch.searchExpenseIds(profileId, startDate, endDate, keyword);
+                expenseDTOs = loadInOrder(rankedIds).stream().map(this::toDTO).toList();
+                if (sort.getOrderFor(TransactionNameSearch.SORT_RELEVANCE) == null) {
+                    expenseDTOs = expenseDTOs.stream().sorted(comparatorFor(sort)).toList();
+                }
+            }
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("expenses", expenseDTOs);
@@ -198,18 +409,50 @@ public class ExpenseService {
         }
     }
 
+    private List<TransactionView> loadInOrder(List<Long> ids) {
+        Map<Long, TransactionView> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            expenseRepository.findViewsByIdIn(ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size())))
+                    .forEach(view -> byId.put(view.getId(), view));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // covers every alias the view query can sort by, so both filter paths accept and reject the same fields
+    private static Comparator<ExpenseDTO> comparatorFor(Sort sort) {
+        Comparator<ExpenseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ExpenseDTO> next = switch (order.getProperty()) {
+                case "date" -> Comparator.comparing(ExpenseDTO::getDate, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "amount" -> Comparator.comparing(ExpenseDTO::getAmount, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(ExpenseDTO::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "id" -> Comparator.comparing(ExpenseDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "icon" -> Comparator.comparing(ExpenseDTO::getIcon, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "categoryId" -> Comparator.comparing(ExpenseDTO::getCategoryId, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "categoryName" -> Comparator.comparing(ExpenseDTO::getCategoryName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "createdAt" -> Comparator.comparing(ExpenseDTO::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(ExpenseDTO::getUpdatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator != null ? comparator : (a, b) -> 0;
+    }
+
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getExpensesForUserOnDate(Long profileId, LocalDate date) {
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDate(profileId, date);
-        return list.stream().map(this::toDTO).toList();
+        return expenseRepository.findViewsByProfileIdAndDate(profileId, date).stream().map(this::toDTO).toList();
     }
 
     // NEW: total expense for "today" current user (LocalDate range)
+    @Transactional(readOnly = true)
     public BigDecimal getTodayExpenseForCurrentUser() {
-        ProfileEntity profileEntity = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate today = LocalDate.now(); // atau LocalDate.now(ZoneId.of("Asia/Jakarta")) jika perlu
 
         BigDecimal sum = expenseRepository.findExpenseSumBetweenDates(
-                profileEntity.getId(),
+                profileId,
                 today,
                 today);
         return sum != null ? sum : BigDecimal.ZERO;
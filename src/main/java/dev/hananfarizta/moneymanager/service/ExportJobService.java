@@ -0,0 +1,301 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import dev.hananfarizta.moneymanager.dto.ExportJobDTO;
+import dev.hananfarizta.moneymanager.exception.custom.TooManyRequestsException;
+import dev.hananfarizta.moneymanager.util.TransactionCsv;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Runs exports in the background on a fixed pool with a bounded queue. Each job writes to
+// "<id>.part" in the export directory and is renamed to "<id>.<format>" when complete, so a
+// download never sees a half-written file. Jobs live in memory only: finished ones are dropped
+// together with their file after the ttl, and leftovers from a previous run are deleted on startup.
+@Slf4j
+@Service
+public class ExportJobService {
+
+    public static final String FORMAT_XLSX = "xlsx";
+    public static final String FORMAT_CSV = "csv";
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final ExcelExportService excelExportService;
+    private final IncomeService incomeService;
+    private final ExpenseService expenseService;
+    private final Path directory;
+    private final int maxActivePerProfile;
+    private final Duration ttl;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeByProfile = new ConcurrentHashMap<>();
+
+    public ExportJobService(ExcelExportService excelExportService,
+            IncomeService incomeService,
+            ExpenseService expenseService,
+            @Value("${app.export.directory:${java.io.tmpdir}/moneymanager-exports}") Path directory,
+            @Value("${app.export.workers:2}") int workers,
+            @Value("${app.export.queue-capacity:20}") int queueCapacity,
+            @Value("${app.export.max-active-per-profile:2}") int maxActivePerProfile,
+            @Value("${app.export.ttl:PT1H}") Duration ttl) {
+        this.excelExportService = excelExportService;
+        this.incomeService = incomeService;
+        this.expenseService = expenseService;
+        this.directory = directory;
+        this.maxActivePerProfile = maxActivePerProfile;
+        this.ttl = ttl;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("export-worker-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*.{part,xlsx,csv}")) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // type is income or expense; sort must only use plain columns (see FilterController)
+    public ExportJobDTO submit(Long profileId, String format, String type, LocalDate startDate, LocalDate endDate,
+            String keyword, Sort sort) {
+        if (!FORMAT_XLSX.equals(format) && !FORMAT_CSV.equals(format)) {
+            throw new IllegalArgumentException("Invalid format specified. Must be 'xlsx' or 'csv'.");
+        }
+        if (!MonthlyRollupService.TYPE_INCOME.equals(type) && !MonthlyRollupService.TYPE_EXPENSE.equals(type)) {
+            throw new IllegalArgumentException("Invalid type specified. Must be 'income' or 'expense'.");
+        }
+
+        activeByProfile.compute(profileId, (id, active) -> {
+            int count = active != null ? active : 0;
+            if (count >= maxActivePerProfile) {
+                throw new TooManyRequestsException(
+                        "At most " + maxActivePerProfile + " exports can run at once, try again when one finishes");
+            }
+            return count + 1;
+        });
+
+        Job job = new Job(UUID.randomUUID().toString(), profileId, format, type, startDate, endDate, keyword, sort,
+                LocalDateTime.now());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            release(profileId);
+            throw new TooManyRequestsException("Export queue is full, try again later");
+        }
+        return job.toDTO(ttl);
+    }
+
+    public ExportJobDTO getJob(Long profileId, String jobId) {
+        return find(profileId, jobId).toDTO(ttl);
+    }
+
+    // Path of a finished export; the caller streams it
+    public Path getResultFile(Long profileId, String jobId) {
+        Job job = find(profileId, jobId);
+        if (!STATUS_DONE.equals(job.status) || job.file == null || !Files.exists(job.file)) {
+            throw new IllegalArgumentException("Export job is not finished: " + job.status);
+        }
+        return job.file;
+    }
+
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval:PT5M}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || job.finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            delete(job.file);
+            return true;
+        });
+    }
+
+    // helper methods
+    private Job find(Long profileId, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.profileId.equals(profileId)) {
+            throw new IllegalArgumentException("Export job not found");
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        job.status = STATUS_RUNNING;
+        Path part = directory.resolve(job.id + PART_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                job.rows = FORMAT_XLSX.equals(job.format)
+                        ? excelExportService.export(job.profileId, job.type, job.startDate, job.endDate, job.keyword,
+                                job.sort, out)
+                        : writeCsv(job, out);
+            }
+            Path file = Files.move(part, directory.resolve(job.id + "." + job.format),
+                    StandardCopyOption.ATOMIC_MOVE);
+            job.sizeBytes = Files.size(file);
+            job.file = file;
+            finish(job, STATUS_DONE);
+        } catch (Exception e) {
+            log.warn("Export job {} failed", job.id, e);
+            delete(part);
+            job.error = e.getMessage();
+            finish(job, STATUS_FAILED);
+        }
+    }
+
+    private void finish(Job job, String status) {
+        job.finishedAt = LocalDateTime.now();
+        job.status = status;
+        release(job.profileId);
+    }
+
+    private long writeCsv(Job job, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TransactionCsv.writeHeader(writer);
+        long[] rows = { 0 };
+        try {
+            if (MonthlyRollupService.TYPE_INCOME.equals(job.type)) {
+                incomeService.streamIncomes(job.profileId, job.startDate, job.endDate, job.keyword, job.sort,
+                        income -> {
+                            csvRow(writer, income.getDate(), income.getName(), income.getCategoryname(),
+                                    income.getCategoryId(), income.getAmount(), income.getIcon());
+                            rows[0]++;
+                        });
+            } else {
+                expenseService.streamExpenses(job.profileId, job.startDate, job.endDate, job.keyword, job.sort,
+                        expense -> {
+                            csvRow(writer, expense.getDate(), expense.getName(), expense.getCategoryName(),
+                                    expense.getCategoryId(), expense.getAmount(), expense.getIcon());
+                            rows[0]++;
+                        });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    private static void csvRow(Writer writer, LocalDate date, String name, String category, Long categoryId,
+            BigDecimal amount, String icon) {
+        try {
+            TransactionCsv.writeRow(writer, date, name, category, categoryId, amount, icon);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(Long profileId) {
+        activeByProfile.computeIfPresent(profileId, (id, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private static void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    // Mutable state is written by the worker and read by status requests, hence volatile
+    private static final class Job {
+
+        final String id;
+        final Long profileId;
+        final String format;
+        final String type;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final String keyword;
+        final Sort sort;
+        final LocalDateTime createdAt;
+
+        volatile String status = STATUS_QUEUED;
+        volatile Long rows;
+        volatile Long sizeBytes;
+        volatile String error;
+        volatile Path file;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id, Long profileId, String format, String type, LocalDate startDate, LocalDate endDate,
+                String keyword, Sort sort, LocalDateTime createdAt) {
+            this.id = id;
+            this.profileId = profileId;
+            this.format = format;
+            this.type = type;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.keyword = keyword;
+            this.sort = sort;
+            this.createdAt = createdAt;
+        }
+
+        ExportJobDTO toDTO(Duration ttl) {
+            LocalDateTime finished = finishedAt;
+            return ExportJobDTO.builder()
+                    .id(id)
+                    .type(type)
+                    .format(format)
+                    .status(status)
+                    .rows(rows)
+                    .sizeBytes(sizeBytes)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .finishedAt(finished)
+                    .expiresAt(finished != null ? finished.plus(ttl) : null)
+                    .build();
+        }
+    }
+}
@@ -1,44 +1,82 @@
 package dev.hananfarizta.moneymanager.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import dev.hananfarizta.moneymanager.dto.CategoryDTO;
+import dev.hananfarizta.moneymanager.dto.CursorPageDTO;
 import dev.hananfarizta.moneymanager.dto.IncomeDTO;
 import dev.hananfarizta.moneymanager.entity.CategoryEntity;
 import dev.hananfarizta.moneymanager.entity.IncomeEntity;
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.repository.CategoryRepository;
 import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import dev.hananfarizta.moneymanager.util.SearchText;
+import dev.hananfarizta.moneymanager.util.TransactionCsv;
+import dev.hananfarizta.moneymanager.util.TransactionCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class IncomeService {
 
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // rows per flush/clear during imports; each flush goes out as hibernate.jdbc.batch_size batches
+    private static final int IMPORT_FLUSH_SIZE = 500;
+
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final ProfileService profileService;
     private final IncomeRepository incomeRepository;
+    private final ProfileBalanceService profileBalanceService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionNameSearch transactionNameSearch;
+    private final EntityManager entityManager;
+
+    @Value("${app.import.max-rows:10000}")
+    private int importMaxRows;
 
     // Add Income
+    @Transactional
     public Map<String, Object> addIncome(IncomeDTO incomeDTO) {
         validateAddedIncome(incomeDTO);
 
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            ProfileEntity profileEntity = profileService.getCurrentProfileReference();
 
-            CategoryEntity categoryEntity = categoryRepository.findById(incomeDTO.getCategoryId())
+            CategoryDTO category = categoryService.findCategory(profileEntity.getId(), incomeDTO.getCategoryId())
                     .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+            CategoryEntity categoryEntity = categoryRepository.getReferenceById(category.getId());
 
             IncomeEntity newIncome = toEntity(incomeDTO, profileEntity, categoryEntity);
             newIncome = incomeRepository.save(newIncome);
+            profileBalanceService.applyIncome(profileEntity.getId(), newIncome.getAmount());
+            monthlyRollupService.applyIncome(profileEntity.getId(), categoryEntity.getId(), newIncome.getDate(),
+                    newIncome.getAmount(), 1);
+            transactionNameSearch.invalidateIncomes(profileEntity.getId());
 
             Map<String, Object> data = new LinkedHashMap<>();
-            data.put("income", toDTO(newIncome));
+            data.put("income", toDTO(newIncome, category));
 
             return data;
 
@@ -49,6 +87,100 @@ public class IncomeService {
         }
     }
 
+    // Bulk import: all rows are validated before anything is written, categories are resolved in one
+    // query, and the balance/rollup updates are applied once per batch instead of once per row
+    @Transactional
+    public Map<String, Object> importIncomes(List<IncomeDTO> incomeDTOs) {
+        if (incomeDTOs == null || incomeDTOs.isEmpty()) {
+            throw new IllegalArgumentException("Import must contain at least one income");
+        }
+        if (incomeDTOs.size() > importMaxRows) {
+            throw new IllegalArgumentException("Import is limited to " + importMaxRows + " rows");
+        }
+        for (int i = 0; i < incomeDTOs.size(); i++) {
+            try {
+                validateAddedIncome(incomeDTOs.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Row " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        try {
+            ProfileEntity profileEntity = profileService.getCurrentProfileReference();
+            Long profileId = profileEntity.getId();
+            Map<Long, CategoryEntity> categories = resolveImportCategories(incomeDTOs, profileId);
+
+            BigDecimal total = BigDecimal.ZERO;
+            Map<RollupKey, BigDecimal> rollupAmounts = new HashMap<>();
+            Map<RollupKey, Long> rollupCounts = new HashMap<>();
+            List<IncomeEntity> batch = new ArrayList<>(IMPORT_FLUSH_SIZE);
+            for (IncomeDTO incomeDTO : incomeDTOs) {
+                LocalDate date = incomeDTO.getDate() != null ? incomeDTO.getDate() : LocalDate.now();
+                RollupKey key = new RollupKey(incomeDTO.getCategoryId(), YearMonth.from(date));
+                rollupAmounts.merge(key, incomeDTO.getAmount(), BigDecimal::add);
+                rollupCounts.merge(key, 1L, Long::sum);
+                total = total.add(incomeDTO.getAmount());
+
+                batch.add(toEntity(incomeDTO, profileEntity, categories.get(incomeDTO.getCategoryId())));
+                if (batch.size() == IMPORT_FLUSH_SIZE) {
+                    saveImportBatch(batch);
+                }
+            }
+            saveImportBatch(batch);
+
+            profileBalanceService.applyIncome(profileId, total);
+            rollupAmounts.forEach((key, amount) -> monthlyRollupService.applyIncome(profileId, key.categoryId(),
+                    key.month().atDay(1), amount, rollupCounts.get(key)));
+            transactionNameSearch.invalidateIncomes(profileId);
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("imported", incomeDTOs.size());
+
+            return data;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to import incomes", e);
+        }
+    }
+
+    // CSV variant of importIncomes, see TransactionCsv for the accepted format
+    @Transactional
+    public Map<String, Object> importIncomesCsv(Reader reader) {
+        List<IncomeDTO> incomeDTOs = TransactionCsv.read(reader, importMaxRows).stream()
+                .map(row -> IncomeDTO.builder()
+                        .name(row.name())
+                        .icon(row.icon())
+                        .categoryId(row.categoryId())
+                        .amount(row.amount())
+                        .date(row.date())
+                        .build())
+                .toList();
+        return importIncomes(incomeDTOs);
+    }
+
+    private Map<Long, CategoryEntity> resolveImportCategories(List<IncomeDTO> incomeDTOs, Long profileId) {
+        Set<Long> categoryIds = incomeDTOs.stream().map(IncomeDTO::getCategoryId).collect(Collectors.toSet());
+        Map<Long, CategoryEntity> categories = new HashMap<>();
+        for (Long categoryId : categoryIds) {
+            CategoryDTO category = categoryService.findCategory(profileId, categoryId)
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryId));
+            categories.put(categoryId, categoryRepository.getReferenceById(category.getId()));
+        }
+        return categories;
+    }
+
+    // flush sends the pending inserts as JDBC batches, clear keeps the persistence context small
+    private void saveImportBatch(List<IncomeEntity> batch) {
+        incomeRepository.saveAll(batch);
+        incomeRepository.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private record RollupKey(Long categoryId, YearMonth month) {
+    }
+
     public void validateAddedIncome(IncomeDTO incomeDTO) {
         if (incomeDTO == null) {
             throw new IllegalArgumentException("income data cannot be null");
@@ -79,13 +211,13 @@ public class IncomeService {
                 .build();
     }
 
-    private IncomeDTO toDTO(IncomeEntity incomeEntity) {
+    private IncomeDTO toDTO(IncomeEntity incomeEntity, CategoryDTO category) {
         return IncomeDTO.builder()
                 .id(incomeEntity.getId())
                 .name(incomeEntity.getName())
                 .icon(incomeEntity.getIcon())
-                .categoryId(incomeEntity.getCategory() != null ? incomeEntity.getCategory().getId() : null)
-                .categoryname(incomeEntity.getCategory() != null ? incomeEntity.getCategory().getName() : "N/A")
+                .categoryId(category.getId())
+                .categoryname(category.getName())
                 .amount(incomeEntity.getAmount())
                 .date(incomeEntity.getDate())
                 .createdAt(incomeEntity.getCreatedAt())
@@ -93,17 +225,32 @@ public class IncomeService {
                 .build();
     }
 
+    private IncomeDTO toDTO(TransactionView view) {
+        return IncomeDTO.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .icon(view.getIcon())
+                .categoryId(view.getCategoryId())
+                .categoryname(view.getCategoryName() != null ? view.getCategoryName() : "N/A")
+                .amount(view.getAmount())
+                .date(view.getDate())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+
     // Retrieve Incomes for The Current month/based on the start date and end date
+    @Transactional(readOnly = true)
     public Map<String, Object> getCurrentMonthIncomesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
             LocalDate now = LocalDate.now();
             LocalDate startDate = now.withDayOfMonth(1);
             LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
 
             List<IncomeDTO> incomeDTOs = incomeRepository
-                    .findByProfileIdAndDateBetween(profileEntity.getId(), startDate, endDate)
+                    .findViewsByProfileIdAndDateBetween(profileId, startDate, endDate, Sort.unsorted())
                     .stream()
                     .map(this::toDTO)
                     .toList();
@@ -119,19 +266,70 @@ public class IncomeService {
         }
     }
 
+    // Current month, one keyset page at a time
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> getCurrentMonthIncomesPageForCurrentUser(String cursor, Integer size) {
+        LocalDate now = LocalDate.now();
+        return getIncomesPage(now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()), null, cursor, size);
+    }
+
+    // Keyset page ordered by (date, created_at, id) descending; one row past the page tells whether there is more
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> getIncomesPage(LocalDate startDate, LocalDate endDate, String keyword,
+            String cursor, Integer size) {
+        try {
+            Long profileId = profileService.getCurrentProfileId();
+            int pageSize = TransactionCursor.pageSize(size);
+            TransactionCursor position = TransactionCursor.decode(cursor, endDate);
+            String pattern = SearchText.containsPattern(keyword);
+
+            List<TransactionView> rows = incomeRepository.findPageBefore(profileId, startDate, endDate, pattern,
+                    position.date(), position.createdAt(), position.id(), Limit.of(pageSize + 1));
+
+            String nextCursor = null;
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                TransactionView last = rows.get(pageSize - 1);
+                nextCursor = new TransactionCursor(last.getDate(), last.getCreatedAt(), last.getId()).encode();
+            }
+
+            return new CursorPageDTO<>(rows.stream().map(this::toDTO).toList(), nextCursor);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get incomes page", e);
+        }
+    }
+
+    // Hands each row to the sink as it is read; projections never enter the persistence context.
+    // Takes the profile id because it usually runs on the async response thread, outside the security context.
+    @Transactional(readOnly = true)
+    public void streamIncomes(Long profileId, LocalDate startDate, LocalDate endDate, String keyword, Sort sort,
+            Consumer<IncomeDTO> sink) {
+        try (Stream<TransactionView> rows = incomeRepository.streamByProfileId(profileId, startDate, endDate,
+                SearchText.containsPattern(keyword), sort.and(Sort.by(Sort.Direction.DESC, "id")))) {
+            rows.map(this::toDTO).forEach(sink);
+        }
+    }
+
     // Delete Income by Id for Current User
+    @Transactional
     public void deleteIncome(Long incomeId) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
 
             IncomeEntity incomeEntity = incomeRepository.findById(incomeId)
                     .orElseThrow(() -> new IllegalArgumentException("Income not found"));
 
-            if (!incomeEntity.getProfile().getId().equals(profileEntity.getId())) {
+            if (!incomeEntity.getProfile().getId().equals(profileId)) {
                 throw new IllegalArgumentException("Unauthorized to delete this Income");
             }
 
             incomeRepository.delete(incomeEntity);
+            profileBalanceService.applyIncome(profileId, incomeEntity.getAmount().negate());
+            monthlyRollupService.applyIncome(profileId, incomeEntity.getCategory().getId(),
+                    incomeEntity.getDate(), incomeEntity.getAmount().negate(), -1);
+            transactionNameSearch.invalidateIncomes(profileId);
 
         } catch (IllegalArgumentException e) {
             throw e;
@@ -141,11 +339,12 @@ public class IncomeService {
     }
 
     // Get Latest 5 Incomes for current user
+    @Transactional(readOnly = true)
     public Map<String, Object> getLatestFiveIncomesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
+            Long profileId = profileService.getCurrentProfileId();
             List<IncomeDTO> incomeDTOs = incomeRepository
-                    .findTop5ByProfileIdOrderByDateDesc(profileEntity.getId())
+                    .findRecentViewsByProfileId(profileId, Limit.of(5))
                     .stream()
                     .map(this::toDTO)
                     .toList();
@@ -162,10 +361,11 @@ public class IncomeService {
     }
 
     // Get total incomes for current user
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncomesForCurrentUser() {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
-            BigDecimal totalIncomes = incomeRepository.findTotalIncomeByProfileId(profileEntity.getId());
+            Long profileId = profileService.getCurrentProfileId();
+            BigDecimal totalIncomes = incomeRepository.findTotalIncomeByProfileId(profileId);
 
             return totalIncomes != null ? totalIncomes : BigDecimal.ZERO;
         } catch (IllegalArgumentException e) {
@@ -176,16 +376,27 @@ public class IncomeService {
     }
 
     // Filter Incomes
+    // a keyword goes through TransactionNameSearch and comes back ranked unless another sort field is given
+    @Transactional(readOnly = true)
     public Map<String, Object> filterIncomes(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
         try {
-            ProfileEntity profileEntity = profileService.getCurrentProfile();
-
-            List<IncomeDTO> incomeDTOs = incomeRepository
-                    .findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-                            profileEntity.getId(), startDate, endDate, keyword, sort)
-                    .stream()
-                    .map(this::toDTO)
-                    .toList();
+            Long profileId = profileService.getCurrentProfileId();
+
+            List<IncomeDTO> incomeDTOs;
+            if (keyword == null || keyword.isBlank()) {
+                comparatorFor(sort); // rejects unknown sort fields the same way the keyword path does
+                incomeDTOs = incomeRepository
+                        .findViewsByProfileIdAndDateBetween(profileId, startDate, endDate, sort)
+                        .stream()
+                        .map(this::toDTO)
+                        .toList();
+            } else {
+                List<Long> rankedIds = transactionNameSearch.searchIncomeIds(profileId, startDate, endDate, keyword);
+                incomeDTOs = loadInOrder(rankedIds).stream().map(this::toDTO).toList();
+                if (sort.getOrderFor(TransactionNameSearch.SORT_RELEVANCE) == null) {
+                    incomeDTOs = incomeDTOs.stream().sorted(comparatorFor(sort)).toList();
+                }
+            }
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("incomes", incomeDTOs);
@@ -198,13 +409,45 @@ public class IncomeService {
         }
     }
 
+    private List<TransactionView> loadInOrder(List<Long> ids) {
+        Map<Long, TransactionView> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            incomeRepository.findViewsByIdIn(ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size())))
+                    .forEach(view -> byId.put(view.getId(), view));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // covers every alias the view query can sort by, so both filter paths accept and reject the same fields
+    private static Comparator<IncomeDTO> comparatorFor(Sort sort) {
+        Comparator<IncomeDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IncomeDTO> next = switch (order.getProperty()) {
+                case "date" -> Comparator.comparing(IncomeDTO::getDate, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "amount" -> Comparator.comparing(IncomeDTO::getAmount, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(IncomeDTO::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "id" -> Comparator.comparing(IncomeDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "icon" -> Comparator.comparing(IncomeDTO::getIcon, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "categoryId" -> Comparator.comparing(IncomeDTO::getCategoryId, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "categoryName" -> Comparator.comparing(IncomeDTO::getCategoryname, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "createdAt" -> Comparator.comparing(IncomeDTO::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(IncomeDTO::getUpdatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator != null ? comparator : (a, b) -> 0;
+    }
+
     // NEW: total incomes for "today" current user (LocalDate range)
+    @Transactional(readOnly = true)
     public BigDecimal getTodayIncomeForCurrentUser() {
-        ProfileEntity profileEntity = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate today = LocalDate.now(); // atau LocalDate.now(ZoneId.of("Asia/Jakarta")) jika perlu
 
         BigDecimal sum = incomeRepository.findIncomeSumBetweenDates(
-                profileEntity.getId(),
+                profileId,
                 today,
                 today);
         return sum != null ? sum : BigDecimal.ZERO;
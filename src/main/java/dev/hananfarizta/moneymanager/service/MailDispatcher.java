@@ -0,0 +1,239 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.hananfarizta.moneymanager.dto.EmailDeliveryResultDTO;
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import dev.hananfarizta.moneymanager.entity.MailOutboxEntity;
+import dev.hananfarizta.moneymanager.repository.MailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Delivers tbl_mail_outbox rows on a small pool of platform-thread workers fed by a bounded queue;
+// each worker drains up to batch-size ids and sends them over one pooled SMTP connection.
+// Not virtual threads: Jakarta Mail's SMTPTransport does its socket I/O inside synchronized methods,
+// which would pin a carrier per worker for the whole send and starve virtual request threads.
+// The outbox row is the source of truth: anything that does not fit in the queue, fails, or is
+// interrupted by a restart stays PENDING and is picked up again by pollOutbox().
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final SmtpTransportPool smtpTransportPool;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration staleAfter;
+    private final Duration submitTimeout;
+
+    private final BlockingQueue<Long> queue;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+
+    public MailDispatcher(MailOutboxRepository mailOutboxRepository,
+            SmtpTransportPool smtpTransportPool,
+            @Value("${app.mail.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.mail.workers:4}") int workerCount,
+            @Value("${app.mail.batch-size:50}") int batchSize,
+            @Value("${app.mail.max-attempts:5}") int maxAttempts,
+            @Value("${app.mail.initial-backoff:PT30S}") Duration initialBackoff,
+            @Value("${app.mail.max-backoff:PT30M}") Duration maxBackoff,
+            @Value("${app.mail.stale-after:PT5M}") Duration staleAfter,
+            @Value("${app.mail.submit-timeout:PT30S}") Duration submitTimeout) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.smtpTransportPool = smtpTransportPool;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.staleAfter = staleAfter;
+        this.submitTimeout = submitTimeout;
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().name("mail-worker-" + i).daemon(true).start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    // Queues the outbox row for delivery, deferred until commit when called inside a transaction
+    public void submit(Long outboxId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(outboxId);
+                }
+            });
+        } else {
+            offer(outboxId);
+        }
+    }
+
+    // Blocking variant for batch producers: waits for queue space so a large job is paced by the workers.
+    // Ids that still do not fit within the timeout stay PENDING for the poller.
+    public void submitAll(List<Long> outboxIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offerAll(outboxIds);
+                }
+            });
+        } else {
+            offerAll(outboxIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.poll-interval:PT15S}")
+    public void pollOutbox() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = mailOutboxRepository.requeueStale(MailOutboxEntity.STATUS_SENDING,
+                MailOutboxEntity.STATUS_PENDING, now.minus(staleAfter), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} mail(s) stuck in SENDING", requeued);
+        }
+
+        int room = queue.remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        for (Long id : mailOutboxRepository.findDueIds(MailOutboxEntity.STATUS_PENDING, now,
+                PageRequest.of(0, room))) {
+            offer(id);
+        }
+    }
+
+    // helper methods
+    private void offer(Long outboxId) {
+        if (queued.add(outboxId) && !queue.offer(outboxId)) {
+            queued.remove(outboxId);
+            log.debug("Mail queue full, outbox {} left for the poller", outboxId);
+        }
+    }
+
+    private void offerAll(List<Long> outboxIds) {
+        for (Long outboxId : outboxIds) {
+            if (!queued.add(outboxId)) {
+                continue;
+            }
+            try {
+                if (!queue.offer(outboxId, submitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    queued.remove(outboxId);
+                }
+            } catch (InterruptedException e) {
+                queued.remove(outboxId);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                deliver(batch);
+            } catch (Exception e) {
+                log.error("Failed to deliver outbox batch {}", batch, e);
+            } finally {
+                batch.forEach(queued::remove);
+                batch.clear();
+            }
+        }
+    }
+
+    void deliver(List<Long> outboxIds) {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<Long> claimed = new ArrayList<>(outboxIds.size());
+        for (Long outboxId : outboxIds) {
+            // rows already sent, failed for good, or claimed by another instance are skipped
+            if (mailOutboxRepository.claim(outboxId, MailOutboxEntity.STATUS_PENDING,
+                    MailOutboxEntity.STATUS_SENDING, claimedAt) == 1) {
+                claimed.add(outboxId);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<MailOutboxEntity> mails = mailOutboxRepository.findAllById(claimed);
+        List<EmailDeliveryResultDTO> results = smtpTransportPool.sendAll(mails.stream()
+                .map(mail -> EmailMessageDTO.builder()
+                        .to(mail.getRecipient())
+                        .subject(mail.getSubject())
+                        .body(mail.getBody())
+                        .html(Boolean.TRUE.equals(mail.getHtml()))
+                        .build())
+                .toList());
+
+        for (int i = 0; i < mails.size(); i++) {
+            MailOutboxEntity mail = mails.get(i);
+            EmailDeliveryResultDTO result = results.get(i);
+            LocalDateTime now = LocalDateTime.now();
+            if (result.isSent()) {
+                mailOutboxRepository.markSent(mail.getId(), MailOutboxEntity.STATUS_SENT, now);
+                continue;
+            }
+
+            boolean exhausted = mail.getAttempts() >= maxAttempts;
+            mailOutboxRepository.markAttemptFailed(mail.getId(),
+                    exhausted ? MailOutboxEntity.STATUS_FAILED : MailOutboxEntity.STATUS_PENDING,
+                    now.plus(backoff(mail.getAttempts())), truncate(result.getError()), now);
+            if (exhausted) {
+                log.error("Giving up on outbox {} after {} attempts: {}", mail.getId(), mail.getAttempts(),
+                        result.getError());
+            } else {
+                log.warn("Attempt {} for outbox {} failed: {}", mail.getAttempts(), mail.getId(), result.getError());
+            }
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,192 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import dev.hananfarizta.moneymanager.repository.MonthlyRollupRepository;
+import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.repository.projection.MonthlyTotalView;
+import dev.hananfarizta.moneymanager.repository.projection.ProfileRecipientView;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class MonthlyRollupService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    // keeps LocalDate.MIN / LocalDate.MAX style bounds inside the yyyyMM integer range
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final int BACKFILL_PAGE_SIZE = 500;
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transaction;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+            IncomeRepository incomeRepository,
+            ExpenseRepository expenseRepository,
+            ProfileRepository profileRepository,
+            PlatformTransactionManager transactionManager) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.profileRepository = profileRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Called from the income write paths, inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyIncome(Long profileId, Long categoryId, LocalDate date, BigDecimal amountDelta, long countDelta) {
+        apply(profileId, categoryId, TYPE_INCOME, date, amountDelta, countDelta);
+    }
+
+    // Called from the expense write paths, inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyExpense(Long profileId, Long categoryId, LocalDate date, BigDecimal amountDelta, long countDelta) {
+        apply(profileId, categoryId, TYPE_EXPENSE, date, amountDelta, countDelta);
+    }
+
+    // Sum of incomes in [startDate, endDate]: whole months from the rollup, edge months from raw rows
+    @Transactional(readOnly = true)
+    public BigDecimal sumIncomesBetween(Long profileId, LocalDate startDate, LocalDate endDate) {
+        return sumBetween(profileId, TYPE_INCOME, startDate, endDate);
+    }
+
+    // Sum of expenses in [startDate, endDate]: whole months from the rollup, edge months from raw rows
+    @Transactional(readOnly = true)
+    public BigDecimal sumExpensesBetween(Long profileId, LocalDate startDate, LocalDate endDate) {
+        return sumBetween(profileId, TYPE_EXPENSE, startDate, endDate);
+    }
+
+    // Per-month totals for charts, answered from the rollup only
+    @Transactional(readOnly = true)
+    public List<MonthlyTotalView> getMonthlyTotals(Long profileId, String type, YearMonth from, YearMonth to) {
+        return monthlyRollupRepository.findMonthlyTotals(profileId, type, toKey(from), toKey(to));
+    }
+
+    // Rebuilds every bucket from tbl_incomes and tbl_expenses, one short transaction per profile.
+    // Buckets are upserted, never deleted, so concurrent write paths always find their bucket.
+    @Scheduled(cron = "0 0 3 * * *", zone = "Asia/Jakarta")
+    public void backfillRollups() {
+        log.info("Job started: backfillRollups()");
+        long profiles = 0;
+        long created = 0;
+        Long lastId = 0L;
+        List<ProfileRecipientView> page;
+        do {
+            page = profileRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BACKFILL_PAGE_SIZE));
+            for (ProfileRecipientView profile : page) {
+                Integer inserted = transaction.execute(status -> backfill(profile.getId()));
+                created += inserted != null ? inserted : 0;
+            }
+            profiles += page.size();
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == BACKFILL_PAGE_SIZE);
+        log.info("Job completed: backfillRollups() profiles={} createdBuckets={}", profiles, created);
+    }
+
+    // Missing buckets are created first, then every bucket of the profile is locked before it is
+    // recomputed, so a write that committed while we waited is counted and one still in flight
+    // adds its delta afterwards. Returns the number of buckets created.
+    int backfill(Long profileId) {
+        int created = monthlyRollupRepository.insertMissingIncomeBuckets(profileId)
+                + monthlyRollupRepository.insertMissingExpenseBuckets(profileId);
+        monthlyRollupRepository.lockBucketsByProfileId(profileId);
+        monthlyRollupRepository.recomputeIncomeBuckets(profileId);
+        monthlyRollupRepository.recomputeExpenseBuckets(profileId);
+        return created;
+    }
+
+    // helper methods
+    private void apply(Long profileId, Long categoryId, String type, LocalDate date, BigDecimal amountDelta,
+            long countDelta) {
+        YearMonth month = YearMonth.from(date);
+        IntSupplier addDelta = () -> monthlyRollupRepository.addToBucket(profileId, toKey(month), categoryId, type,
+                amountDelta, countDelta, LocalDateTime.now());
+        if (addDelta.getAsInt() == 0 && insertBucketIfAbsent(profileId, categoryId, type, month) == 0) {
+            // a concurrent first write created the bucket; its totals cannot contain this uncommitted change
+            addDelta.getAsInt();
+        }
+    }
+
+    // first write into this bucket: the base table already contains the change
+    private int insertBucketIfAbsent(Long profileId, Long categoryId, String type, YearMonth month) {
+        // pending deletes must reach the base tables before they are summed
+        monthlyRollupRepository.flush();
+
+        return TYPE_INCOME.equals(type)
+                ? monthlyRollupRepository.insertIncomeBucketIfAbsent(profileId, toKey(month), categoryId,
+                        month.atDay(1), month.atEndOfMonth())
+                : monthlyRollupRepository.insertExpenseBucketIfAbsent(profileId, toKey(month), categoryId,
+                        month.atDay(1), month.atEndOfMonth());
+    }
+
+    private BigDecimal sumBetween(Long profileId, String type, LocalDate startDate, LocalDate endDate) {
+        LocalDate start = startDate.isBefore(MIN_DATE) ? MIN_DATE : startDate;
+        LocalDate end = endDate.isAfter(MAX_DATE) ? MAX_DATE : endDate;
+        if (start.isAfter(end)) {
+            return BigDecimal.ZERO;
+        }
+
+        YearMonth firstMonth = YearMonth.from(start);
+        YearMonth lastMonth = YearMonth.from(end);
+        boolean startsOnMonthBoundary = start.getDayOfMonth() == 1;
+        boolean endsOnMonthBoundary = end.equals(lastMonth.atEndOfMonth());
+
+        if (firstMonth.equals(lastMonth) && !(startsOnMonthBoundary && endsOnMonthBoundary)) {
+            return rawSum(profileId, type, start, end);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        YearMonth fullFrom = firstMonth;
+        YearMonth fullTo = lastMonth;
+
+        if (!startsOnMonthBoundary) {
+            total = total.add(rawSum(profileId, type, start, firstMonth.atEndOfMonth()));
+            fullFrom = firstMonth.plusMonths(1);
+        }
+        if (!endsOnMonthBoundary) {
+            total = total.add(rawSum(profileId, type, lastMonth.atDay(1), end));
+            fullTo = lastMonth.minusMonths(1);
+        }
+        if (!fullFrom.isAfter(fullTo)) {
+            BigDecimal months = monthlyRollupRepository.sumBetweenMonths(profileId, type, toKey(fullFrom),
+                    toKey(fullTo));
+            total = total.add(months != null ? months : BigDecimal.ZERO);
+        }
+        return total;
+    }
+
+    private BigDecimal rawSum(Long profileId, String type, LocalDate start, LocalDate end) {
+        BigDecimal sum = TYPE_INCOME.equals(type)
+                ? incomeRepository.findIncomeSumBetweenDates(profileId, start, end)
+                : expenseRepository.findExpenseSumBetweenDates(profileId, start, end);
+        return sum != null ? sum : BigDecimal.ZERO;
+    }
+
+    private static int toKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
@@ -1,15 +1,25 @@
 package dev.hananfarizta.moneymanager.service;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
-import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
 import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.repository.projection.DailyExpenseView;
+import dev.hananfarizta.moneymanager.repository.projection.ProfileRecipientView;
+import dev.hananfarizta.moneymanager.util.EmailTemplate;
+import dev.hananfarizta.moneymanager.util.TemplateBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,60 +28,138 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NotificationService {
 
+    private static final ZoneId JOB_ZONE = ZoneId.of("Asia/Jakarta");
+
     private final ProfileRepository profileRepository;
+    private final ExpenseRepository expenseRepository;
     private final EmailService emailService;
-    private final ExpenseService expenseService;
 
     @Value("${money.manager.frontend.url}")
     private String frontendUrl;
 
+    @Value("${app.notification.page-size:500}")
+    private int pageSize;
+
+    private final EmailTemplate reminderTemplate = EmailTemplate.fromClasspath("templates/email/daily-reminder.html");
+    private final EmailTemplate summaryTemplate = EmailTemplate
+            .fromClasspath("templates/email/daily-expense-summary.html");
+    private final EmailTemplate summaryRowTemplate = EmailTemplate
+            .fromClasspath("templates/email/daily-expense-summary-row.html");
+
+    public record RunStats(String job, int pages, long profiles, long mailsQueued, long elapsedMillis) {
+    }
+
     @Scheduled(cron = "0 0 22 * * *", zone = "Asia/Jakarta")
     public void sendDailyIncomeExpenseReminder() {
-        log.info("Job started: sendDailyIncomeExpenseReminder()");
-        List<ProfileEntity> profiles = profileRepository.findAll();
-        for (ProfileEntity profile : profiles) {
-            String body = "Hi " + profile.getFullName() + ",<br><br>"
-                    + "This is a friendly reminder to add your income and expenses for today in Money Manager.<br><br>"
-                    + "<a href=" + frontendUrl
-                    + " style='display:inline-block;padding:10px 20px;background-color:#4CAF50;color:#fff;text-decoration:none;border-radius:5px;font-weight:bold;'>Go to Money Manager</a>"
-                    + "<br><br>Best regards,<br>Money Manager Team";
-            emailService.sendEmail(profile.getEmail(), "Daily reminder: Add your income and expenses", body);
-        }
-        log.info("Job completed: sendDailyIncomeExpenseReminder()");
+        runOverProfilePages("sendDailyIncomeExpenseReminder", this::reminderMails);
     }
 
     @Scheduled(cron = "0 0 23 * * *", zone = "Asia/Jakarta")
     public void sendDailyExpenseSummary() {
-        log.info("Job started: sendDailyExpenseSummary()");
-        List<ProfileEntity> profiles = profileRepository.findAll();
-        for (ProfileEntity profile : profiles) {
-            List<ExpenseDTO> todaysExpenses = expenseService.getExpensesForUserOnDate(profile.getId(), LocalDate.now());
-            if (!todaysExpenses.isEmpty()) {
-                StringBuilder table = new StringBuilder();
-                table.append("<table style='border-collapse:collapse;width:100%;'>");
-                table.append(
-                        "<tr style='background-color:#f2f2f2;'><th style='border:1px solid #ddd;padding:8px;'>S.No</th><th style='border:1px solid #ddd;padding:8px;'>Name</th><th style='border:1px solid #ddd;padding:8px;'>Amount</th><th style='border:1px solid #ddd;padding:8px;'>Category</th></tr>");
-                int i = 1;
-                for (ExpenseDTO expense : todaysExpenses) {
-                    table.append("<tr>");
-                    table.append("<td style='border:1px solid #ddd;padding:8px;'>").append(i++).append("</td>");
-                    table.append("<td style='border:1px solid #ddd;padding:8px;'>").append(expense.getName())
-                            .append("</td>");
-                    table.append("<td style='border:1px solid #ddd;padding:8px;'>").append(expense.getAmount())
-                            .append("</td>");
-                    table.append("<td style='border:1px solid #ddd;padding:8px;'>")
-                            .append(expense.getCategoryId() != null ? expense.getCategoryName() : "N/A")
-                            .append("</td>");
-                    table.append("</tr>");
-                }
-                table.append("</table>");
-                String body = "Hi " + profile.getFullName()
-                        + ",<br/><br/> Here is a summary of your expenses for today:<br/><br/>" + table
-                        + "<br/><br/>Best regards,<br/>Money Manager Team";
-                emailService.sendEmail(profile.getEmail(), "Your daily Expense summary", body);
+        runDailyExpenseSummary(LocalDate.now(JOB_ZONE));
+    }
+
+    RunStats runDailyExpenseSummary(LocalDate date) {
+        return runOverProfilePages("sendDailyExpenseSummary", page -> summaryMails(page, date));
+    }
+
+    // Walks tbl_profiles in id order one page at a time and queues each page's mails in one batch,
+    // so memory stays bounded by the page size and the mail workers pace the job
+    RunStats runOverProfilePages(String job, Function<List<ProfileRecipientView>, List<EmailMessageDTO>> pageMailer) {
+        log.info("Job started: {}()", job);
+        long startedAt = System.nanoTime();
+        int pages = 0;
+        long profiles = 0;
+        long mailsQueued = 0;
+
+        long lastId = 0L;
+        List<ProfileRecipientView> page;
+        do {
+            page = profileRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
             }
+            lastId = page.get(page.size() - 1).getId();
+
+            List<EmailMessageDTO> mails = pageMailer.apply(page);
+            emailService.sendEmails(mails);
+
+            pages++;
+            profiles += page.size();
+            mailsQueued += mails.size();
+            log.info("{}: page {} done, {} profiles scanned, {} mails queued so far", job, pages, profiles,
+                    mailsQueued);
+        } while (page.size() == pageSize);
+
+        RunStats stats = new RunStats(job, pages, profiles, mailsQueued, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Job completed: {}() in {} ms, {} pages, {} profiles, {} mails queued", job, stats.elapsedMillis(),
+                stats.pages(), stats.profiles(), stats.mailsQueued());
+        return stats;
+    }
+
+    // helper methods
+    private List<EmailMessageDTO> reminderMails(List<ProfileRecipientView> page) {
+        TemplateBuffer buffer = new TemplateBuffer();
+        List<EmailMessageDTO> mails = new ArrayList<>(page.size());
+        for (ProfileRecipientView profile : page) {
+            buffer.reset();
+            reminderTemplate.render(buffer, name -> switch (name) {
+                case "fullName" -> profile.getFullName();
+                case "frontendUrl" -> frontendUrl;
+                default -> null;
+            });
+            mails.add(EmailMessageDTO.builder()
+                    .to(profile.getEmail())
+                    .subject("Daily reminder: Add your income and expenses")
+                    .body(buffer.toString())
+                    .html(true)
+                    .build());
+        }
+        return mails;
+    }
+
+    private List<EmailMessageDTO> summaryMails(List<ProfileRecipientView> page, LocalDate date) {
+        Map<Long, List<DailyExpenseView>> expensesByProfile = new LinkedHashMap<>();
+        for (DailyExpenseView expense : expenseRepository.findDailyExpensesByProfileIds(
+                page.stream().map(ProfileRecipientView::getId).toList(), date)) {
+            expensesByProfile.computeIfAbsent(expense.getProfileId(), k -> new ArrayList<>()).add(expense);
+        }
+
+        TemplateBuffer buffer = new TemplateBuffer();
+        List<EmailMessageDTO> mails = new ArrayList<>(expensesByProfile.size());
+        for (ProfileRecipientView profile : page) {
+            List<DailyExpenseView> todaysExpenses = expensesByProfile.get(profile.getId());
+            if (todaysExpenses == null) {
+                continue;
+            }
+            EmailTemplate.Fragment rows = out -> {
+                for (int i = 0; i < todaysExpenses.size(); i++) {
+                    DailyExpenseView expense = todaysExpenses.get(i);
+                    int index = i + 1;
+                    summaryRowTemplate.render(out, name -> switch (name) {
+                        case "index" -> index;
+                        case "name" -> expense.getName();
+                        case "amount" -> expense.getAmount();
+                        case "category" -> expense.getCategoryName() != null ? expense.getCategoryName() : "N/A";
+                        default -> null;
+                    });
+                }
+            };
+
+            buffer.reset();
+            summaryTemplate.render(buffer, name -> switch (name) {
+                case "fullName" -> profile.getFullName();
+                case "rows" -> rows;
+                default -> null;
+            });
+            mails.add(EmailMessageDTO.builder()
+                    .to(profile.getEmail())
+                    .subject("Your daily Expense summary")
+                    .body(buffer.toString())
+                    .html(true)
+                    .build());
         }
-        log.info("Job completed: sendDailyExpenseSummary()");
+        return mails;
     }
 
 }
@@ -0,0 +1,123 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.hananfarizta.moneymanager.entity.ProfileBalanceEntity;
+import dev.hananfarizta.moneymanager.repository.ProfileBalanceRepository;
+import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.repository.projection.BalanceTotalsView;
+import dev.hananfarizta.moneymanager.repository.projection.ProfileRecipientView;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ProfileBalanceService {
+
+    private static final int RECONCILE_PAGE_SIZE = 500;
+
+    private final ProfileBalanceRepository profileBalanceRepository;
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transaction;
+
+    public ProfileBalanceService(ProfileBalanceRepository profileBalanceRepository,
+            ProfileRepository profileRepository,
+            PlatformTransactionManager transactionManager) {
+        this.profileBalanceRepository = profileBalanceRepository;
+        this.profileRepository = profileRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Called from the income write paths, inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyIncome(Long profileId, BigDecimal delta) {
+        IntSupplier addDelta = () -> profileBalanceRepository.addToTotalIncomes(profileId, delta, LocalDateTime.now());
+        if (addDelta.getAsInt() == 0) {
+            createOrAdd(profileId, addDelta);
+        }
+    }
+
+    // Called from the expense write paths, inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyExpense(Long profileId, BigDecimal delta) {
+        IntSupplier addDelta = () -> profileBalanceRepository.addToTotalExpenses(profileId, delta, LocalDateTime.now());
+        if (addDelta.getAsInt() == 0) {
+            createOrAdd(profileId, addDelta);
+        }
+    }
+
+    // O(1) read of the ledger; profiles without a ledger row yet are computed from the base tables
+    @Transactional(readOnly = true)
+    public ProfileBalanceEntity getBalance(Long profileId) {
+        return profileBalanceRepository.findById(profileId)
+                .orElseGet(() -> fromTotals(profileId, profileBalanceRepository.computeTotalsByProfileId(profileId)));
+    }
+
+    // Rebuilds the whole ledger from tbl_incomes and tbl_expenses, one short transaction per profile
+    @Scheduled(cron = "0 30 2 * * *", zone = "Asia/Jakarta")
+    public void reconcileBalances() {
+        log.info("Job started: reconcileBalances()");
+        long profiles = 0;
+        long created = 0;
+        Long lastId = 0L;
+        List<ProfileRecipientView> page;
+        do {
+            page = profileRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(RECONCILE_PAGE_SIZE));
+            for (ProfileRecipientView profile : page) {
+                if (Boolean.TRUE.equals(transaction.execute(status -> reconcile(profile.getId())))) {
+                    created++;
+                }
+            }
+            profiles += page.size();
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == RECONCILE_PAGE_SIZE);
+        log.info("Job completed: reconcileBalances() profiles={} created={}", profiles, created);
+    }
+
+    // The row lock is taken before the totals are read: a write that committed while we waited is
+    // in the new totals, and one still in flight adds its delta on top after we commit.
+    // true when the ledger row had to be created
+    boolean reconcile(Long profileId) {
+        if (profileBalanceRepository.insertFromTransactionsIfAbsent(profileId) == 1) {
+            return true;
+        }
+        profileBalanceRepository.lockByProfileId(profileId);
+        profileBalanceRepository.recomputeFromTransactions(profileId);
+        return false;
+    }
+
+    // helper methods
+    private void createOrAdd(Long profileId, IntSupplier addDelta) {
+        // first write for this profile: the base tables already contain the change,
+        // pending deletes must reach them before they are summed
+        profileBalanceRepository.flush();
+        if (profileBalanceRepository.insertFromTransactionsIfAbsent(profileId) == 0) {
+            // a concurrent first write created the row; its totals cannot contain this uncommitted change
+            addDelta.getAsInt();
+        }
+    }
+
+    private ProfileBalanceEntity fromTotals(Long profileId, BalanceTotalsView totals) {
+        return ProfileBalanceEntity.builder()
+                .profileId(profileId)
+                .totalIncomes(totals != null && totals.getTotalIncomes() != null
+                        ? totals.getTotalIncomes()
+                        : BigDecimal.ZERO)
+                .totalExpenses(totals != null && totals.getTotalExpenses() != null
+                        ? totals.getTotalExpenses()
+                        : BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import dev.hananfarizta.moneymanager.dto.AuthDTO;
 import dev.hananfarizta.moneymanager.dto.ProfileDTO;
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.security.CurrentProfile;
+import dev.hananfarizta.moneymanager.security.ProfileCache;
 import dev.hananfarizta.moneymanager.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 
@@ -16,6 +18,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -31,10 +34,13 @@ public class ProfileService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final ProfileCache profileCache;
 
     @Value("${app.activation.url}")
     private String appActivationUrl;
 
+    // The profile and its activation mail are committed together; the mail is sent after commit
+    @Transactional
     public Map<String, Object> registerProfile(ProfileDTO profileDTO) {
         try {
 
@@ -116,11 +122,13 @@ public class ProfileService {
                 .map(profile -> {
                     profile.setIsActive(true);
                     profileRepository.save(profile);
+                    profileCache.invalidate(profile);
                     return true;
                 })
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public boolean isAccountActive(String email) {
         return profileRepository.findByEmail(email)
                 .map(ProfileEntity::getIsActive)
@@ -129,11 +137,24 @@ public class ProfileService {
 
     public ProfileEntity getCurrentProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return profileRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "Profile not found with email: " + authentication.getName()));
+        return profileCache.getByEmail(authentication.getName());
     }
 
+    // Id of the authenticated profile, read from the JWT claims without a database hit
+    public Long getCurrentProfileId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof CurrentProfile currentProfile) {
+            return currentProfile.id();
+        }
+        return getCurrentProfile().getId();
+    }
+
+    // Uninitialized JPA proxy of the authenticated profile, enough to set associations
+    public ProfileEntity getCurrentProfileReference() {
+        return profileRepository.getReferenceById(getCurrentProfileId());
+    }
+
+    @Transactional(readOnly = true)
     public ProfileDTO getPublicProfile(String email) {
         ProfileEntity currentUser = null;
 
@@ -189,7 +210,7 @@ public class ProfileService {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authDTO.getEmail(), authDTO.getPassword()));
 
-            String token = jwtUtil.generateToken(authDTO.getEmail());
+            String token = jwtUtil.generateToken(existingProfile);
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("user", getPublicProfile(authDTO.getEmail()));
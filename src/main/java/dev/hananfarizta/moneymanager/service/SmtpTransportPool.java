@@ -0,0 +1,187 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import dev.hananfarizta.moneymanager.dto.EmailDeliveryResultDTO;
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+// A fixed set of long-lived SMTP connections. JavaMailSender.send opens a connection (and runs
+// STARTTLS and AUTH) per call; here each borrowed transport stays connected between batches and is
+// only reopened after it has been idle for too long or a send fails on the connection.
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final Duration maxIdle;
+    private final BlockingQueue<PooledTransport> idle;
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+            @Value("${SMTP_MAIL_FROM}") String fromEmail,
+            @Value("${app.mail.smtp-pool-size:4}") int poolSize,
+            @Value("${app.mail.smtp-max-idle:PT30S}") Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.maxIdle = maxIdle;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            idle.add(new PooledTransport());
+        }
+    }
+
+    // Sends the batch over one pooled connection; the result list is aligned with the input
+    public List<EmailDeliveryResultDTO> sendAll(List<EmailMessageDTO> messages) {
+        List<EmailDeliveryResultDTO> results = new ArrayList<>(messages.size());
+        if (messages.isEmpty()) {
+            return results;
+        }
+
+        PooledTransport transport;
+        try {
+            transport = idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (EmailMessageDTO message : messages) {
+                results.add(failed(message, "Interrupted while waiting for an SMTP connection"));
+            }
+            return results;
+        }
+
+        try {
+            for (EmailMessageDTO message : messages) {
+                results.add(send(transport, message));
+            }
+        } finally {
+            idle.add(transport);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void close() {
+        idle.forEach(PooledTransport::close);
+    }
+
+    // helper methods
+    private EmailDeliveryResultDTO send(PooledTransport transport, EmailMessageDTO message) {
+        MimeMessage mime;
+        try {
+            mime = toMimeMessage(message);
+        } catch (MessagingException e) {
+            return failed(message, e.getMessage());
+        }
+
+        if (!(mailSender instanceof JavaMailSenderImpl senderImpl)) {
+            try {
+                mailSender.send(mime);
+                return sent(message);
+            } catch (Exception e) {
+                return failed(message, e.getMessage());
+            }
+        }
+
+        try {
+            transport.send(senderImpl, mime, maxIdle);
+            return sent(message);
+        } catch (SendFailedException e) {
+            return failed(message, e.getMessage()); // rejected by the server, the connection is still fine
+        } catch (MessagingException e) {
+            log.debug("SMTP connection failed, reconnecting: {}", e.getMessage());
+            transport.close();
+            try {
+                transport.send(senderImpl, mime, maxIdle);
+                return sent(message);
+            } catch (MessagingException retry) {
+                transport.close();
+                return failed(message, retry.getMessage());
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailMessageDTO message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getTo());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), message.isHtml());
+        return mime;
+    }
+
+    private static EmailDeliveryResultDTO sent(EmailMessageDTO message) {
+        return EmailDeliveryResultDTO.builder().to(message.getTo()).sent(true).build();
+    }
+
+    private static EmailDeliveryResultDTO failed(EmailMessageDTO message, String error) {
+        return EmailDeliveryResultDTO.builder().to(message.getTo()).sent(false).error(error).build();
+    }
+
+    private static final class PooledTransport {
+
+        private Transport transport;
+        private long lastUsedNanos;
+
+        void send(JavaMailSenderImpl sender, MimeMessage message, Duration maxIdle) throws MessagingException {
+            if (transport != null && System.nanoTime() - lastUsedNanos > maxIdle.toNanos()) {
+                close(); // the server has probably dropped it; reconnecting is cheaper than a failed send
+            }
+            if (transport == null) {
+                transport = connect(sender);
+            }
+            if (message.getMessageID() == null) {
+                message.saveChanges();
+            }
+            transport.sendMessage(message, message.getAllRecipients());
+            lastUsedNanos = System.nanoTime();
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    // already broken, nothing to release
+                }
+                transport = null;
+            }
+        }
+
+        private static Transport connect(JavaMailSenderImpl sender) throws MessagingException {
+            String protocol = sender.getProtocol() != null ? sender.getProtocol() : "smtp";
+            Transport transport;
+            try {
+                transport = sender.getSession().getTransport(protocol);
+            } catch (NoSuchProviderException e) {
+                throw new MessagingException("Unsupported mail protocol " + protocol, e);
+            }
+            String username = sender.getUsername();
+            String password = sender.getPassword();
+            if ("".equals(username)) {
+                username = null;
+            }
+            if ("".equals(password)) {
+                password = null;
+            }
+            transport.connect(sender.getHost(), sender.getPort(), username, password);
+            return transport;
+        }
+    }
+}
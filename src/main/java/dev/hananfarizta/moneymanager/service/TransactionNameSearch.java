@@ -0,0 +1,188 @@
+package dev.hananfarizta.moneymanager.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import dev.hananfarizta.moneymanager.repository.projection.SearchEntryView;
+import dev.hananfarizta.moneymanager.util.BoundedTtlCache;
+import dev.hananfarizta.moneymanager.util.SearchText;
+import lombok.extern.slf4j.Slf4j;
+
+// Keyword search over transaction names, returning ids best match first.
+// On Postgres the pg_trgm GIN index on search_name answers the query; on other databases
+// (H2 in tests and local runs) a per-profile in-memory trigram index is built on first use,
+// cached, and dropped whenever that profile's transactions change.
+@Slf4j
+@Component
+public class TransactionNameSearch {
+
+    public static final String SORT_RELEVANCE = "relevance";
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final ExpenseRepository expenseRepository;
+    private final IncomeRepository incomeRepository;
+    private final boolean trigramEngine;
+    private final BoundedTtlCache<String, NgramIndex> indexes;
+
+    public TransactionNameSearch(ExpenseRepository expenseRepository,
+            IncomeRepository incomeRepository,
+            DataSource dataSource,
+            @Value("${app.search.engine:auto}") String engine,
+            @Value("${app.search.index-cache.max-size:1000}") int indexCacheSize,
+            @Value("${app.search.index-cache.ttl:PT10M}") Duration indexCacheTtl) {
+        this.expenseRepository = expenseRepository;
+        this.incomeRepository = incomeRepository;
+        this.trigramEngine = switch (engine) {
+            case "trigram" -> true;
+            case "memory" -> false;
+            default -> isPostgres(dataSource);
+        };
+        this.indexes = new BoundedTtlCache<>(indexCacheSize, indexCacheTtl);
+        log.info("Transaction name search uses the {} engine", trigramEngine ? "pg_trgm" : "in-memory n-gram");
+    }
+
+    public List<Long> searchExpenseIds(Long profileId, LocalDate startDate, LocalDate endDate, String keyword) {
+        String normalized = SearchText.normalize(keyword);
+        if (trigramEngine) {
+            return expenseRepository.searchIdsByTrigram(profileId, clamp(startDate), clamp(endDate), normalized,
+                    SearchText.escapeLike(normalized));
+        }
+        return indexes.get("expense:" + profileId,
+                key -> new NgramIndex(expenseRepository.findSearchEntriesByProfileId(profileId)))
+                .search(normalized, startDate, endDate);
+    }
+
+    public List<Long> searchIncomeIds(Long profileId, LocalDate startDate, LocalDate endDate, String keyword) {
+        String normalized = SearchText.normalize(keyword);
+        if (trigramEngine) {
+            return incomeRepository.searchIdsByTrigram(profileId, clamp(startDate), clamp(endDate), normalized,
+                    SearchText.escapeLike(normalized));
+        }
+        return indexes.get("income:" + profileId,
+                key -> new NgramIndex(incomeRepository.findSearchEntriesByProfileId(profileId)))
+                .search(normalized, startDate, endDate);
+    }
+
+    public void invalidateExpenses(Long profileId) {
+        invalidate("expense:" + profileId);
+    }
+
+    public void invalidateIncomes(Long profileId) {
+        invalidate("income:" + profileId);
+    }
+
+    // helper methods
+    // Dropped now and again after commit, so a search racing the write cannot cache the old rows
+    private void invalidate(String key) {
+        if (trigramEngine) {
+            return;
+        }
+        indexes.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexes.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private static LocalDate clamp(LocalDate date) {
+        if (date.isBefore(MIN_DATE)) {
+            return MIN_DATE;
+        }
+        return date.isAfter(MAX_DATE) ? MAX_DATE : date;
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to detect the database vendor", e);
+        }
+    }
+
+    // Immutable trigram -> ids postings for one profile's transactions
+    static final class NgramIndex {
+
+        private record Entry(String searchName, LocalDate date) {
+        }
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, List<Long>> postings = new HashMap<>();
+
+        NgramIndex(List<SearchEntryView> rows) {
+            for (SearchEntryView row : rows) {
+                if (row.getSearchName() == null) {
+                    continue;
+                }
+                entries.put(row.getId(), new Entry(row.getSearchName(), row.getDate()));
+                for (String gram : SearchText.innerTrigrams(row.getSearchName())) {
+                    postings.computeIfAbsent(gram, k -> new ArrayList<>()).add(row.getId());
+                }
+            }
+        }
+
+        List<Long> search(String keyword, LocalDate startDate, LocalDate endDate) {
+            Set<String> keywordGrams = SearchText.trigrams(keyword);
+            List<SearchText.Match> matches = new ArrayList<>();
+            for (Long id : candidates(keyword)) {
+                Entry entry = entries.get(id);
+                if (!entry.searchName().contains(keyword)
+                        || (entry.date() != null && (entry.date().isBefore(startDate) || entry.date().isAfter(endDate)))) {
+                    continue;
+                }
+                matches.add(new SearchText.Match(id, SearchText.matchRank(entry.searchName(), keyword),
+                        SearchText.similarity(SearchText.trigrams(entry.searchName()), keywordGrams), entry.date()));
+            }
+            matches.sort(SearchText.BEST_FIRST);
+            return matches.stream().map(SearchText.Match::id).toList();
+        }
+
+        // Intersects the postings of every trigram in the keyword, smallest list first.
+        // Keywords shorter than three characters have no trigram and fall back to all entries.
+        private Collection<Long> candidates(String keyword) {
+            Set<String> grams = SearchText.innerTrigrams(keyword);
+            if (grams.isEmpty()) {
+                return entries.keySet();
+            }
+            List<List<Long>> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                List<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(List::size));
+
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(new HashSet<>(lists.get(i)));
+            }
+            return result;
+        }
+    }
+}
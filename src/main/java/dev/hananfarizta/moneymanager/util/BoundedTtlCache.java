@@ -0,0 +1,171 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process LRU cache with a maximum size and a time-to-live per entry.
+ * Loaders run outside the lock, so two threads missing the same key may both load it.
+ * A load that overlaps an invalidate of its key is returned but not stored, so it cannot
+ * put back a value the invalidation was meant to drop.
+ * Guarded by a ReentrantLock rather than synchronized so a virtual thread waiting for it
+ * does not pin its carrier thread.
+ */
+public class BoundedTtlCache<K, V> {
+
+    // invalidations per key stripe, so a finished load can tell whether its key was invalidated meanwhile
+    private static final int GENERATION_STRIPES = 64;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    BoundedTtlCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedTtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public V getIfPresent(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - nanoClock.getAsLong() <= 0) {
+                entries.remove(key);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long generation = generation(key);
+        value = loader.apply(key);
+        if (value != null) {
+            lock.lock();
+            try {
+                if (generations[stripe(key)] == generation) {
+                    entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stores an entry that expires after the given ttl or the cache ttl, whichever comes first
+    public void put(K key, V value, Duration ttl) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + Math.min(ttl.toNanos(), ttlNanos)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+            generations[stripe(key)]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations[i]++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long generation(K key) {
+        lock.lock();
+        try {
+            return generations[stripe(key)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    // Lookups since the cache was created; an expired entry counts as a miss
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), size());
+    }
+
+    public record Stats(long hits, long misses, int size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Minimal mustache-like template compiled once into literal chunks and variable names.
+// {{name}} writes the value HTML-escaped, {{{name}}} writes it as is. A value that is a Fragment
+// writes itself into the buffer, which is how repeated rows are nested without building Strings.
+public final class EmailTemplate {
+
+    @FunctionalInterface
+    public interface Fragment {
+        void writeTo(TemplateBuffer out);
+    }
+
+    private final String[] literals;
+    private final String[] names;
+    private final boolean[] raw;
+
+    private EmailTemplate(String[] literals, String[] names, boolean[] raw) {
+        this.literals = literals;
+        this.names = names;
+        this.raw = raw;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            boolean triple = source.startsWith("{{{", open);
+            String closing = triple ? "}}}" : "}}";
+            int nameStart = open + (triple ? 3 : 2);
+            int close = source.indexOf(closing, nameStart);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated template variable at offset " + open);
+            }
+            String name = source.substring(nameStart, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty template variable at offset " + open);
+            }
+
+            literals.add(source.substring(position, open));
+            names.add(name);
+            raw.add(triple);
+            position = close + closing.length();
+        }
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+        return new EmailTemplate(literals.toArray(String[]::new), names.toArray(String[]::new), rawFlags);
+    }
+
+    public static EmailTemplate fromClasspath(String path) {
+        try (InputStream in = EmailTemplate.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Email template not found: " + path);
+            }
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return compile(source.stripTrailing());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read email template " + path, e);
+        }
+    }
+
+    // Appends the rendered template to out; variables resolving to null render as nothing
+    public void render(TemplateBuffer out, Function<String, Object> values) {
+        for (int i = 0; i < names.length; i++) {
+            out.writeRaw(literals[i]);
+            Object value = values.apply(names[i]);
+            if (value instanceof Fragment fragment) {
+                fragment.writeTo(out);
+            } else if (value != null) {
+                CharSequence text = value instanceof CharSequence chars ? chars : value.toString();
+                if (raw[i]) {
+                    out.writeRaw(text);
+                } else {
+                    out.writeEscaped(text);
+                }
+            }
+        }
+        out.writeRaw(literals[names.length]);
+    }
+}
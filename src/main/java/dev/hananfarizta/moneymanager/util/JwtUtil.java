@@ -1,25 +1,43 @@
 package dev.hananfarizta.moneymanager.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-// SignatureAlgorithm is no longer needed with new JJWT API
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String CLAIM_PROFILE_ID = "pid";
+    public static final String CLAIM_ACTIVE = "active";
+
+    private static final long TOKEN_VALIDITY_MILLIS = 1000L * 60 * 60 * 10; // 10 jam
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Verified claims keyed by the SHA-256 of the token; entries expire no later than the token's exp
+    private final BoundedTtlCache<String, Claims> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+            @Value("${app.cache.jwt.max-size:10000}") int verifiedTokenCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = new BoundedTtlCache<>(verifiedTokenCacheSize, Duration.ofMillis(TOKEN_VALIDITY_MILLIS));
     }
 
     public String extractUsername(String token) {
@@ -35,30 +53,51 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Verifies the signature once per token; repeated calls are served from the verified-token cache
+    public Claims extractAllClaims(String token) {
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            if (remainingMillis > 0) {
+                verifiedTokens.put(key, claims, Duration.ofMillis(remainingMillis));
+            }
+        }
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
-    public String generateToken(String email) {
+    public String generateToken(ProfileEntity profile) {
         return Jwts.builder()
-                .subject(email)
+                .subject(profile.getEmail())
+                .claim(CLAIM_PROFILE_ID, profile.getId())
+                .claim(CLAIM_ACTIVE, Boolean.TRUE.equals(profile.getIsActive()))
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 jam
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .expiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MILLIS))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
-}
 
+    // helper methods
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
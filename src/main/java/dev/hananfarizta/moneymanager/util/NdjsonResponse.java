@@ -0,0 +1,49 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Newline-delimited JSON: one object per line, written while the producer runs, so nothing is collected first
+public final class NdjsonResponse {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private NdjsonResponse() {
+    }
+
+    public static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper,
+            Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = new BufferedOutputStream(responseStream, BUFFER_SIZE);
+            producer.accept(item -> {
+                try {
+                    writer.writeValue(out, item);
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MEDIA_TYPE).body(body);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Normalization and scoring shared by the Postgres trigram search and the in-memory n-gram index.
+// normalize() must stay equivalent to LOWER(TRIM(name)), which backfilled search_name (V3 migration).
+public final class SearchText {
+
+    // exact match, then prefix match, then any substring match
+    public static final int RANK_EXACT = 0;
+    public static final int RANK_PREFIX = 1;
+    public static final int RANK_CONTAINS = 2;
+
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        return text == null ? null : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Escapes LIKE wildcards with the default backslash escape
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // LIKE pattern matching the keyword anywhere in search_name, null for a blank keyword
+    public static String containsPattern(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : "%" + escapeLike(normalize(keyword)) + "%";
+    }
+
+    // pg_trgm style trigrams: each word is padded with two leading blanks and one trailing blank
+    public static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalized.split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    // Trigrams of the keyword itself without padding; every one of them occurs in any name containing it
+    public static Set<String> innerTrigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Same definition as pg_trgm similarity(): shared trigrams over distinct trigrams of both
+    public static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    public static int matchRank(String searchName, String keyword) {
+        if (searchName.equals(keyword)) {
+            return RANK_EXACT;
+        }
+        return searchName.startsWith(keyword) ? RANK_PREFIX : RANK_CONTAINS;
+    }
+
+    public record Match(Long id, int rank, double similarity, LocalDate date) {
+    }
+
+    // Mirrors the ORDER BY of the Postgres ranking query
+    public static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+            .thenComparing(Match::date, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Match::id, Comparator.reverseOrder());
+}
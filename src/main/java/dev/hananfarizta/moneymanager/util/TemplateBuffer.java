@@ -0,0 +1,49 @@
+package dev.hananfarizta.moneymanager.util;
+
+// Growable character buffer that EmailTemplate renders into. Meant to be reset and reused for
+// every mail of a batch, so rendering does not allocate per chunk or per variable. Mail bodies are
+// stored as text in the outbox, so the buffer stays in chars and toString() is the only copy.
+public final class TemplateBuffer {
+
+    private final StringBuilder text;
+
+    public TemplateBuffer() {
+        this(4096);
+    }
+
+    public TemplateBuffer(int initialCapacity) {
+        this.text = new StringBuilder(initialCapacity);
+    }
+
+    public void reset() {
+        text.setLength(0);
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public void writeRaw(CharSequence chunk) {
+        text.append(chunk);
+    }
+
+    // Writes chunk with the five HTML-significant characters replaced by entities
+    public void writeEscaped(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            switch (c) {
+                case '&' -> text.append("&amp;");
+                case '<' -> text.append("&lt;");
+                case '>' -> text.append("&gt;");
+                case '"' -> text.append("&quot;");
+                case '\'' -> text.append("&#39;");
+                default -> text.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
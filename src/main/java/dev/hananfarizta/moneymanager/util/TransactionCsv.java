@@ -0,0 +1,169 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads transaction imports in CSV form: a header row naming the columns
+// (name, amount, date, categoryId, icon; any order), then one transaction per line.
+// Fields may be double-quoted; "" inside quotes is a literal quote. Quoted line breaks are not supported.
+// Exports are written with the same columns (plus the category name) so they can be imported again.
+// Text that a spreadsheet would run as a formula (leading =, +, -, @ or tab) is exported behind a ' and
+// the ' is dropped again on import.
+public final class TransactionCsv {
+
+    public static final String HEADER = "date,name,category,categoryId,amount,icon";
+
+    public record Row(int line, String name, String icon, Long categoryId, BigDecimal amount, LocalDate date) {
+    }
+
+    private TransactionCsv() {
+    }
+
+    public static List<Row> read(Reader reader, int maxRows) {
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            String header = lines.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV is empty");
+            }
+            Map<String, Integer> columns = columns(split(stripBom(header)));
+            if (!columns.containsKey("name") || !columns.containsKey("amount") || !columns.containsKey("categoryid")) {
+                throw new IllegalArgumentException("CSV header must contain name, amount and categoryId");
+            }
+
+            List<Row> rows = new ArrayList<>();
+            int lineNumber = 1;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (rows.size() == maxRows) {
+                    throw new IllegalArgumentException("Import is limited to " + maxRows + " rows");
+                }
+                rows.add(toRow(lineNumber, split(line), columns));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeHeader(Appendable out) throws IOException {
+        out.append(HEADER).append('\n');
+    }
+
+    public static void writeRow(Appendable out, LocalDate date, String name, String category, Long categoryId,
+            BigDecimal amount, String icon) throws IOException {
+        out.append(date != null ? date.toString() : "").append(',');
+        appendField(out, name).append(',');
+        appendField(out, category).append(',');
+        out.append(categoryId != null ? categoryId.toString() : "").append(',');
+        out.append(amount != null ? amount.toPlainString() : "").append(',');
+        appendField(out, icon).append('\n');
+    }
+
+    private static Row toRow(int line, List<String> fields, Map<String, Integer> columns) {
+        String amount = field(fields, columns, "amount");
+        String date = field(fields, columns, "date");
+        String categoryId = field(fields, columns, "categoryid");
+        try {
+            return new Row(line,
+                    unguard(field(fields, columns, "name")),
+                    unguard(field(fields, columns, "icon")),
+                    categoryId != null ? Long.valueOf(categoryId) : null,
+                    amount != null ? new BigDecimal(amount) : null,
+                    date != null ? LocalDate.parse(date) : null);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Line " + line + ": invalid number or date (expected yyyy-MM-dd)");
+        }
+    }
+
+    // null for a missing or blank field
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    // quotes only when needed; line breaks become spaces because read() cannot take them back
+    private static Appendable appendField(Appendable out, String value) throws IOException {
+        if (value == null) {
+            return out;
+        }
+        String flat = value.replace('\r', ' ').replace('\n', ' ');
+        if (needsGuard(flat)) {
+            flat = "'" + flat;
+        }
+        if (flat.indexOf(',') < 0 && flat.indexOf('"') < 0) {
+            return out.append(flat);
+        }
+        return out.append('"').append(flat.replace("\"", "\"\"")).append('"');
+    }
+
+    // a ' in front of an already guarded value is guarded too, so every value survives the round trip
+    private static boolean needsGuard(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t'
+                || (first == '\'' && needsGuard(value.substring(1)));
+    }
+
+    private static String unguard(String value) {
+        return value != null && value.startsWith("'") && needsGuard(value.substring(1)) ? value.substring(1) : value;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.hananfarizta.moneymanager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset position for transaction listings ordered by (date, created_at, id) descending.
+// Clients get it back as an opaque URL-safe token and hand it over unchanged for the next page.
+public record TransactionCursor(LocalDate date, LocalDateTime createdAt, Long id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // sorts after any created_at a row can have, so the first page starts at the top of endDate
+    private static final LocalDateTime LATEST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public static TransactionCursor first(LocalDate endDate) {
+        return new TransactionCursor(endDate, LATEST_CREATED_AT, Long.MAX_VALUE);
+    }
+
+    // null cursor means first page
+    public static TransactionCursor decode(String token, LocalDate endDate) {
+        if (token == null || token.isBlank()) {
+            return first(endDate);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1 || requested > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return requested;
+    }
+
+    public String encode() {
+        String raw = date + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+-- Baseline of the schema previously created by hibernate ddl-auto=update.
+-- IF NOT EXISTS keeps it a no-op on databases that already have these tables
+-- (spring.flyway.baseline-on-migrate baselines them at version 0 first).
+
+CREATE TABLE IF NOT EXISTS tbl_profiles (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name         VARCHAR(255),
+    email             VARCHAR(255),
+    password          VARCHAR(255),
+    profile_image_url VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    is_active         BOOLEAN,
+    activation_token  VARCHAR(255),
+    CONSTRAINT uk_profiles_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_categories (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    icon       VARCHAR(255),
+    type       VARCHAR(255),
+    profile_id BIGINT NOT NULL,
+    CONSTRAINT fk_categories_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_incomes (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    icon        VARCHAR(255),
+    date        DATE,
+    amount      NUMERIC(38, 2),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    category_id BIGINT NOT NULL,
+    profile_id  BIGINT NOT NULL,
+    CONSTRAINT fk_incomes_category FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT fk_incomes_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_expenses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    icon        VARCHAR(255),
+    date        DATE,
+    amount      NUMERIC(38, 2),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    category_id BIGINT NOT NULL,
+    profile_id  BIGINT NOT NULL,
+    CONSTRAINT fk_expenses_category FOREIGN KEY (category_id) REFERENCES tbl_categories (id),
+    CONSTRAINT fk_expenses_profile FOREIGN KEY (profile_id) REFERENCES tbl_profiles (id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_profile_balances (
+    profile_id     BIGINT NOT NULL PRIMARY KEY,
+    total_incomes  NUMERIC(38, 2) NOT NULL,
+    total_expenses NUMERIC(38, 2) NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_monthly_rollups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    profile_id        BIGINT NOT NULL,
+    year_month        INTEGER NOT NULL,
+    category_id       BIGINT NOT NULL,
+    type              VARCHAR(255) NOT NULL,
+    total_amount      NUMERIC(38, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_monthly_rollups_bucket UNIQUE (profile_id, year_month, category_id, type)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_mail_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            VARCHAR(100000) NOT NULL,
+    html            BOOLEAN,
+    status          VARCHAR(16) NOT NULL,
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    sent_at         TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_mail_outbox_status_next_attempt ON tbl_mail_outbox (status, next_attempt_at);
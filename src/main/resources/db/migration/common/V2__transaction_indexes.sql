@@ -0,0 +1,10 @@
+-- Serves profile_id = ? with date ranges and "latest first" ordering
+-- (findByProfileIdAndDateBetween, findTop5ByProfileIdOrderByDateDesc, the dashboard union)
+CREATE INDEX IF NOT EXISTS idx_expenses_profile_date_created ON tbl_expenses (profile_id, date DESC, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_incomes_profile_date_created ON tbl_incomes (profile_id, date DESC, created_at DESC);
+
+-- findByTypeAndProfileId, findByProfileId
+CREATE INDEX IF NOT EXISTS idx_categories_profile_type ON tbl_categories (profile_id, type);
+
+-- findByActivationToken; tokens are random UUIDs, NULLs are allowed more than once
+CREATE UNIQUE INDEX IF NOT EXISTS uk_profiles_activation_token ON tbl_profiles (activation_token);
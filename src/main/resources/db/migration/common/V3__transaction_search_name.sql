@@ -0,0 +1,6 @@
+-- Lower-cased, trimmed copy of name used by keyword search; kept in sync by the entities
+ALTER TABLE tbl_expenses ADD COLUMN IF NOT EXISTS search_name VARCHAR(255);
+ALTER TABLE tbl_incomes ADD COLUMN IF NOT EXISTS search_name VARCHAR(255);
+
+UPDATE tbl_expenses SET search_name = LOWER(TRIM(name)) WHERE search_name IS NULL AND name IS NOT NULL;
+UPDATE tbl_incomes SET search_name = LOWER(TRIM(name)) WHERE search_name IS NULL AND name IS NOT NULL;
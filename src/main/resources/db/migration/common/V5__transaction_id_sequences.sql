@@ -0,0 +1,4 @@
+-- Expenses and incomes take their ids from pooled sequences (allocation size 50) instead of the
+-- identity columns, so Hibernate can batch inserts. The identity defaults stay for manual inserts.
+CREATE SEQUENCE IF NOT EXISTS tbl_expenses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tbl_incomes_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,11 @@
+-- One category per (profile, name, type); create/update rely on this instead of exists checks.
+-- Rows that already collide keep their transactions and get the id appended to the name.
+UPDATE tbl_categories c
+SET name = c.name || ' (' || c.id || ')'
+WHERE EXISTS (
+    SELECT 1 FROM tbl_categories d
+    WHERE d.profile_id = c.profile_id AND d.name = c.name AND d.type = c.type AND d.id < c.id
+);
+
+ALTER TABLE tbl_categories
+    ADD CONSTRAINT uk_categories_profile_name_type UNIQUE (profile_id, name, type);
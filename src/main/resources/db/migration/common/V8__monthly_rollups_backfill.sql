@@ -0,0 +1,18 @@
+-- Fill the monthly rollups from the transactions that existed before the write paths maintained
+-- them. Whole months are read only from tbl_monthly_rollups, so a month without a bucket would
+-- sum to 0. Buckets already created by the write paths are kept.
+INSERT INTO tbl_monthly_rollups (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+SELECT i.profile_id,
+       CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER),
+       i.category_id, 'income', SUM(i.amount), COUNT(*), CURRENT_TIMESTAMP
+  FROM tbl_incomes i
+ GROUP BY i.profile_id, CAST(EXTRACT(YEAR FROM i.date) * 100 + EXTRACT(MONTH FROM i.date) AS INTEGER), i.category_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO tbl_monthly_rollups (profile_id, year_month, category_id, type, total_amount, transaction_count, updated_at)
+SELECT e.profile_id,
+       CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER),
+       e.category_id, 'expense', SUM(e.amount), COUNT(*), CURRENT_TIMESTAMP
+  FROM tbl_expenses e
+ GROUP BY e.profile_id, CAST(EXTRACT(YEAR FROM e.date) * 100 + EXTRACT(MONTH FROM e.date) AS INTEGER), e.category_id
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,7 @@
+-- V5 left the identity defaults in place for manual inserts, but their own counters run into the
+-- ranges Hibernate takes from tbl_*_seq. Manual inserts now draw from the same sequences; a plain
+-- nextval only reserves its own value, so it never lands in a block Hibernate has already taken.
+ALTER TABLE tbl_expenses ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE tbl_expenses ALTER COLUMN id SET DEFAULT nextval('tbl_expenses_seq');
+ALTER TABLE tbl_incomes ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE tbl_incomes ALTER COLUMN id SET DEFAULT nextval('tbl_incomes_seq');
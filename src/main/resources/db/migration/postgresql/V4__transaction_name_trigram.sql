@@ -0,0 +1,6 @@
+-- Trigram indexes let LIKE '%keyword%' and similarity() on search_name use an index
+-- instead of scanning the profile's whole history. Requires the pg_trgm extension.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_expenses_search_name_trgm ON tbl_expenses USING gin (search_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_incomes_search_name_trgm ON tbl_incomes USING gin (search_name gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Start the sequences past the ids the identity columns already handed out. The pooled optimizer
+-- treats each value as the top of a block of 50, so the next value is MAX(id) + 50.
+SELECT setval('tbl_expenses_seq', COALESCE((SELECT MAX(id) FROM tbl_expenses), 0) + 50, false);
+SELECT setval('tbl_incomes_seq', COALESCE((SELECT MAX(id) FROM tbl_incomes), 0) + 50, false);
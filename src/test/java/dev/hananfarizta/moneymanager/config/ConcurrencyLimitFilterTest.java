@@ -0,0 +1,72 @@
+package dev.hananfarizta.moneymanager.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50));
+
+    private MockHttpServletResponse call(String path, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("request di atas batas menunggu lalu ditolak 503, health check tetap lolos")
+    void overLimit_isRejectedAfterTimeout() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                call("/expenses", (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = call("/incomes", (req, res) -> fail("must not be admitted"));
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(call("/health", (req, res) -> { }).getStatus()).isEqualTo(200);
+
+        release.countDown();
+        holder.join();
+        assertThat(call("/incomes", (req, res) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("respons async menahan izin sampai async selesai")
+    void asyncResponse_holdsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/filter");
+        streaming.setServletPath("/filter");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(call("/incomes", (req, res) -> fail("must not be admitted")).getStatus()).isEqualTo(503);
+
+        streaming.getAsyncContext().complete();
+        assertThat(call("/incomes", (req, res) -> { }).getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.hananfarizta.moneymanager.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSource routing = ReadWriteRoutingDataSource.lazy(h2("primary"), h2("replica"));
+        jdbcTemplate = new JdbcTemplate(routing);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routing));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    @Test
+    @DisplayName("transaksi read-only diarahkan ke replica")
+    void readOnlyTransaction_usesReplica() {
+        transactionTemplate.setReadOnly(true);
+
+        assertThat(transactionTemplate.<String>execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("transaksi tulis dan tanpa transaksi tetap ke primary")
+    void writeTransactionAndNoTransaction_usePrimary() {
+        assertThat(transactionTemplate.<String>execute(status -> node())).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+}
@@ -0,0 +1,102 @@
+package dev.hananfarizta.moneymanager.config;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark
+// Same embedded Tomcat as the application, once with its default platform pool (200 threads) and once
+// with the virtual-thread executor spring.threads.virtual.enabled installs. Each request blocks for
+// IO_WAIT, standing in for a JDBC or SMTP round-trip, under more concurrent clients than the pool has.
+// The platform run is capped at 200 / IO_WAIT; the virtual run is capped by CPU, shared with the client.
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+
+    private static final Duration IO_WAIT = Duration.ofMillis(200);
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    private static double requestsPerSecond(boolean virtualThreads) throws Exception {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (virtualThreads) {
+            factory.addProtocolHandlerCustomizers(
+                    handler -> handler.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+        }
+        WebServer server = factory.getWebServer(context -> context.addServlet("io", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    Thread.sleep(IO_WAIT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response.setStatus(200);
+            }
+        }).addMapping("/io"));
+        server.start();
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/io"))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+            AtomicInteger ok = new AtomicInteger();
+
+            long started = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            ok.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            assertThat(ok).hasValue(CLIENTS * REQUESTS_PER_CLIENT);
+            return ok.get() / seconds;
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("request yang menunggu I/O: throughput virtual thread vs pool platform thread")
+    void blockingRequests_platformVsVirtual() throws Exception {
+        requestsPerSecond(true); // warm up the JIT and the HTTP client
+
+        double platform = requestsPerSecond(false);
+        double virtual = requestsPerSecond(true);
+
+        System.out.printf("%,d clients x %d requests, %d ms I/O each: platform %,.0f req/s, virtual %,.0f req/s (%.1fx)%n",
+                CLIENTS, REQUESTS_PER_CLIENT, IO_WAIT.toMillis(), platform, virtual, virtual / platform);
+        assertThat(virtual).isGreaterThan(platform);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.IncomeEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.projection.RecentTransactionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class DashboardRepositoryTest {
+
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProfileEntity profile;
+    private CategoryEntity salary;
+    private CategoryEntity food;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        salary = entityManager.persist(CategoryEntity.builder()
+                .name("Salary").type("income").profile(profile).build());
+        food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+    }
+
+    private void income(String name, String amount, LocalDate date) {
+        entityManager.persist(IncomeEntity.builder()
+                .name(name).amount(new BigDecimal(amount)).date(date)
+                .category(salary).profile(profile).build());
+    }
+
+    private void expense(String name, String amount, LocalDate date) {
+        entityManager.persist(ExpenseEntity.builder()
+                .name(name).amount(new BigDecimal(amount)).date(date)
+                .category(food).profile(profile).build());
+    }
+
+    @Test
+    @DisplayName("findRecentTransactionsByProfileId membatasi tiap tipe dan menyertakan nama kategori")
+    void findRecent_limitsPerTypeWithCategory() {
+        for (int day = 1; day <= 7; day++) {
+            income("Income " + day, "10.00", LocalDate.of(2025, 1, day));
+            expense("Expense " + day, "5.00", LocalDate.of(2025, 1, day));
+        }
+        entityManager.flush();
+
+        List<RecentTransactionView> rows = dashboardRepository.findRecentTransactionsByProfileId(profile.getId(), 5);
+
+        assertThat(rows).hasSize(10);
+        assertThat(rows).filteredOn(r -> "income".equals(r.getType()))
+                .extracting(RecentTransactionView::getDate)
+                .containsExactly(
+                        LocalDate.of(2025, 1, 7), LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 5),
+                        LocalDate.of(2025, 1, 4), LocalDate.of(2025, 1, 3));
+        assertThat(rows).filteredOn(r -> "expense".equals(r.getType()))
+                .extracting(RecentTransactionView::getCategoryName)
+                .containsOnly("Food");
+        assertThat(rows.get(0).getCreatedAt()).isNotNull();
+        assertThat(rows).extracting(RecentTransactionView::getDate)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,175 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import dev.hananfarizta.moneymanager.util.TransactionCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class ExpenseRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProfileEntity profile;
+    private CategoryEntity food;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+    }
+
+    private ExpenseEntity expense(String name, LocalDate date) {
+        return entityManager.persist(ExpenseEntity.builder()
+                .name(name).amount(new BigDecimal("5.00")).date(date)
+                .category(food).profile(profile).build());
+    }
+
+    private List<TransactionView> walk(String pattern, int pageSize) {
+        List<TransactionView> seen = new ArrayList<>();
+        String token = null;
+        do {
+            TransactionCursor position = TransactionCursor.decode(token, END);
+            List<TransactionView> rows = expenseRepository.findPageBefore(profile.getId(), START, END, pattern,
+                    position.date(), position.createdAt(), position.id(), Limit.of(pageSize + 1));
+            token = null;
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                TransactionView last = rows.get(pageSize - 1);
+                token = new TransactionCursor(last.getDate(), last.getCreatedAt(), last.getId()).encode();
+            }
+            seen.addAll(rows);
+        } while (token != null);
+        return seen;
+    }
+
+    @Test
+    @DisplayName("findPageBefore menelusuri semua halaman tanpa duplikat meski tanggal sama")
+    void findPageBefore_walksAllPagesInKeysetOrder() {
+        List<ExpenseEntity> saved = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            saved.add(expense("Lunch " + i, i < 4 ? LocalDate.of(2025, 1, 10) : LocalDate.of(2025, 1, 20)));
+        }
+        expense("Outside range", LocalDate.of(2025, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TransactionView> walked = walk(null, 2);
+
+        assertThat(walked).extracting(TransactionView::getId).doesNotHaveDuplicates().hasSize(7);
+        assertThat(walked).extracting(TransactionView::getDate).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(walked).extracting(TransactionView::getId)
+                .containsExactlyInAnyOrderElementsOf(saved.stream().map(ExpenseEntity::getId).toList());
+    }
+
+    @Test
+    @DisplayName("findPageBefore menyaring search_name dengan pola LIKE")
+    void findPageBefore_filtersByPattern() {
+        expense("Coffee", LocalDate.of(2025, 1, 3));
+        expense("Lunch", LocalDate.of(2025, 1, 4));
+        expense("Iced coffee", LocalDate.of(2025, 1, 5));
+        entityManager.flush();
+
+        assertThat(walk("%coffee%", 1)).extracting(TransactionView::getName)
+                .containsExactly("Iced coffee", "Coffee");
+    }
+
+    @Test
+    @DisplayName("streamByProfileId mengalirkan baris dalam rentang dengan urutan dan kategori")
+    void streamByProfileId_streamsRangeInOrder() {
+        expense("Coffee", LocalDate.of(2025, 1, 3));
+        expense("Lunch", LocalDate.of(2025, 1, 4));
+        expense("Outside range", LocalDate.of(2025, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<TransactionView> rows = expenseRepository.streamByProfileId(profile.getId(), START, END, null,
+                Sort.by(Sort.Direction.DESC, "date"))) {
+            assertThat(rows.map(e -> e.getName() + "/" + e.getCategoryName()))
+                    .containsExactly("Lunch/Food", "Coffee/Food");
+        }
+    }
+
+    @Test
+    @DisplayName("findViewsByProfileIdAndDateBetween mengembalikan proyeksi terurut sesuai Sort")
+    void findViewsByProfileIdAndDateBetween_sortsProjection() {
+        expense("Coffee", LocalDate.of(2025, 1, 3));
+        expense("Bread", LocalDate.of(2025, 1, 4));
+        entityManager.flush();
+
+        assertThat(expenseRepository.findViewsByProfileIdAndDateBetween(profile.getId(), START, END,
+                Sort.by(Sort.Direction.ASC, "name")))
+                .extracting(TransactionView::getName, TransactionView::getCategoryId, TransactionView::getCategoryName)
+                .containsExactly(tuple("Bread", food.getId(), "Food"), tuple("Coffee", food.getId(), "Food"));
+        assertThat(expenseRepository.findViewsByProfileIdAndDateBetween(profile.getId(), START, END,
+                Sort.by(Sort.Direction.DESC, "date")))
+                .extracting(TransactionView::getName)
+                .containsExactly("Bread", "Coffee");
+    }
+
+    @Test
+    @DisplayName("insert manual tanpa id mengambil id dari sequence dan tidak bentrok dengan id Hibernate")
+    void manualInsert_takesIdFromSequence() {
+        ExpenseEntity before = expense("Kopi", START);
+        entityManager.flush();
+
+        entityManager.getEntityManager().createNativeQuery(
+                "INSERT INTO tbl_expenses (name, amount, date, category_id, profile_id) VALUES ('Manual', 1, ?, ?, ?)")
+                .setParameter(1, START)
+                .setParameter(2, food.getId())
+                .setParameter(3, profile.getId())
+                .executeUpdate();
+        Number sequenceValue = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT currval('tbl_expenses_seq')")
+                .getSingleResult();
+        List<ExpenseEntity> after = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            after.add(expense("Teh " + i, START));
+        }
+        entityManager.flush();
+
+        Number manualId = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT id FROM tbl_expenses WHERE name = 'Manual'")
+                .getSingleResult();
+        assertThat(manualId.longValue()).isEqualTo(sequenceValue.longValue()).isNotEqualTo(before.getId());
+        assertThat(after).extracting(ExpenseEntity::getId).doesNotContain(manualId.longValue());
+    }
+
+    @Test
+    @DisplayName("cursor yang rusak ditolak")
+    void decode_rejectsGarbage() {
+        assertThatThrownBy(() -> TransactionCursor.decode("not-a-cursor", END))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,128 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.IncomeEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileBalanceEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.projection.BalanceTotalsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class ProfileBalanceRepositoryTest {
+
+    @Autowired
+    private ProfileBalanceRepository profileBalanceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProfileEntity profile;
+    private CategoryEntity category;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        category = entityManager.persist(CategoryEntity.builder()
+                .name("General").type("income").profile(profile).build());
+    }
+
+    private void income(String amount) {
+        entityManager.persist(IncomeEntity.builder()
+                .name("Gaji").amount(new BigDecimal(amount)).date(LocalDate.of(2025, 1, 1))
+                .category(category).profile(profile).build());
+    }
+
+    private void expense(String amount) {
+        entityManager.persist(ExpenseEntity.builder()
+                .name("Makan").amount(new BigDecimal(amount)).date(LocalDate.of(2025, 1, 1))
+                .category(category).profile(profile).build());
+    }
+
+    @Test
+    @DisplayName("computeTotalsByProfileId menjumlahkan income dan expense dari tabel dasar")
+    void computeTotals_sumsBaseTables() {
+        income("1000.00");
+        income("250.50");
+        expense("100.25");
+        entityManager.flush();
+
+        BalanceTotalsView totals = profileBalanceRepository.computeTotalsByProfileId(profile.getId());
+
+        assertThat(totals.getTotalIncomes()).isEqualByComparingTo("1250.50");
+        assertThat(totals.getTotalExpenses()).isEqualByComparingTo("100.25");
+    }
+
+    @Test
+    @DisplayName("addToTotalIncomes/addToTotalExpenses menambah delta hanya jika baris ledger ada")
+    void addDelta_updatesExistingRowOnly() {
+        assertThat(profileBalanceRepository.addToTotalIncomes(profile.getId(), BigDecimal.TEN, LocalDateTime.now()))
+                .isZero();
+
+        entityManager.persist(ProfileBalanceEntity.builder()
+                .profileId(profile.getId())
+                .totalIncomes(new BigDecimal("100.00"))
+                .totalExpenses(new BigDecimal("40.00"))
+                .build());
+        entityManager.flush();
+
+        assertThat(profileBalanceRepository.addToTotalIncomes(profile.getId(), new BigDecimal("20.00"),
+                LocalDateTime.now())).isEqualTo(1);
+        assertThat(profileBalanceRepository.addToTotalExpenses(profile.getId(), new BigDecimal("-15.00"),
+                LocalDateTime.now())).isEqualTo(1);
+        entityManager.clear();
+
+        ProfileBalanceEntity balance = profileBalanceRepository.findById(profile.getId()).orElseThrow();
+        assertThat(balance.getTotalIncomes()).isEqualByComparingTo("120.00");
+        assertThat(balance.getTotalExpenses()).isEqualByComparingTo("25.00");
+        assertThat(balance.getTotalBalance()).isEqualByComparingTo("95.00");
+    }
+
+    @Test
+    @DisplayName("rekonsiliasi membangun ulang ledger yang salah dan membuat ledger yang belum ada")
+    void reconcile_rebuildsFromBaseTables() {
+        ProfileEntity other = entityManager.persist(ProfileEntity.builder()
+                .fullName("Jane Doe")
+                .email("jane.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        income("500.00");
+        expense("75.00");
+        entityManager.persist(ProfileBalanceEntity.builder()
+                .profileId(profile.getId())
+                .totalIncomes(new BigDecimal("1.00"))
+                .totalExpenses(new BigDecimal("1.00"))
+                .build());
+        entityManager.flush();
+
+        assertThat(profileBalanceRepository.insertFromTransactionsIfAbsent(profile.getId())).isZero();
+        assertThat(profileBalanceRepository.lockByProfileId(profile.getId())).isEqualTo(profile.getId());
+        assertThat(profileBalanceRepository.recomputeFromTransactions(profile.getId())).isEqualTo(1);
+        assertThat(profileBalanceRepository.insertFromTransactionsIfAbsent(other.getId())).isEqualTo(1);
+        entityManager.clear();
+
+        ProfileBalanceEntity balance = profileBalanceRepository.findById(profile.getId()).orElseThrow();
+        assertThat(balance.getTotalIncomes()).isEqualByComparingTo("500.00");
+        assertThat(balance.getTotalExpenses()).isEqualByComparingTo("75.00");
+
+        ProfileBalanceEntity created = profileBalanceRepository.findById(other.getId()).orElseThrow();
+        assertThat(created.getTotalBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,185 @@
+package dev.hananfarizta.moneymanager.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Calls each per-profile repository query, captures the SQL Hibernate actually sends through a
+// StatementInspector, runs EXPLAIN on it against the Flyway-migrated embedded schema and checks that
+// the plan reads the expected index and never falls back to a full table scan.
+// H2 backs every foreign key with its own index; for a bare profile_id lookup that index ties with
+// the composite one on an empty table, so either is accepted there (Postgres has only the composite).
+// Whole-table maintenance statements (backfill, reconciliation) are intentionally not listed.
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "dev.hananfarizta.moneymanager.repository.QueryPlanTest$CapturingStatementInspector")
+class QueryPlanTest {
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 1, 20, 10, 0);
+
+    // alternatives separated by |
+    private static final String EXPENSES_BY_PROFILE = "idx_expenses_profile_date_created";
+    private static final String INCOMES_BY_PROFILE = "idx_incomes_profile_date_created";
+    private static final String EXPENSES_BY_PROFILE_ID = EXPENSES_BY_PROFILE + "|fk_expenses_profile";
+    private static final String INCOMES_BY_PROFILE_ID = INCOMES_BY_PROFILE + "|fk_incomes_profile";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    @Autowired
+    private ProfileBalanceRepository profileBalanceRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> call, String... indexes) {
+        return Arguments.of(name, call, List.of(indexes));
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("ProfileRepository.findByEmail",
+                        t -> t.profileRepository.findByEmail("john.doe@example.com"), "uk_profiles_email"),
+                query("ProfileRepository.findByActivationToken",
+                        t -> t.profileRepository.findByActivationToken("token"), "uk_profiles_activation_token"),
+                query("ProfileRepository.findByIdGreaterThanOrderByIdAsc",
+                        t -> t.profileRepository.findByIdGreaterThanOrderByIdAsc(100L, Limit.of(500)), "primary_key"),
+
+                query("CategoryRepository.findByProfileId",
+                        t -> t.categoryRepository.findByProfileId(1L),
+                        "idx_categories_profile_type|uk_categories_profile_name_type|fk_categories_profile"),
+                query("CategoryRepository.findByTypeAndProfileId",
+                        t -> t.categoryRepository.findByTypeAndProfileId("expense", 1L), "idx_categories_profile_type"),
+                query("CategoryRepository.findByIdAndProfileId",
+                        t -> t.categoryRepository.findByIdAndProfileId(2L, 1L), "primary_key"),
+
+                query("ExpenseRepository.findByProfileIdOrderByDateDesc",
+                        t -> t.expenseRepository.findByProfileIdOrderByDateDesc(1L), EXPENSES_BY_PROFILE_ID),
+                query("ExpenseRepository.findRecentViewsByProfileId",
+                        t -> t.expenseRepository.findRecentViewsByProfileId(1L, Limit.of(5)), EXPENSES_BY_PROFILE_ID),
+                query("ExpenseRepository.findViewsByProfileIdAndDateBetween",
+                        t -> t.expenseRepository.findViewsByProfileIdAndDateBetween(1L, START, END,
+                                Sort.by(Sort.Direction.DESC, "date")), EXPENSES_BY_PROFILE),
+                query("ExpenseRepository.findViewsByProfileIdAndDate",
+                        t -> t.expenseRepository.findViewsByProfileIdAndDate(1L, END), EXPENSES_BY_PROFILE),
+                query("ExpenseRepository.findPageBefore",
+                        t -> t.expenseRepository.findPageBefore(1L, START, END, null, END.minusDays(11), AT, 42L,
+                                Limit.of(51)), EXPENSES_BY_PROFILE),
+                query("ExpenseRepository.findPageBefore with keyword",
+                        t -> t.expenseRepository.findPageBefore(1L, START, END, "%kopi%", END.minusDays(11), AT, 42L,
+                                Limit.of(51)), EXPENSES_BY_PROFILE),
+                query("ExpenseRepository.findExpenseSumBetweenDates",
+                        t -> t.expenseRepository.findExpenseSumBetweenDates(1L, START, END), EXPENSES_BY_PROFILE),
+                query("ExpenseRepository.findDailyExpensesByProfileIds",
+                        t -> t.expenseRepository.findDailyExpensesByProfileIds(List.of(1L, 2L, 3L), END),
+                        EXPENSES_BY_PROFILE_ID),
+
+                query("IncomeRepository.findByProfileIdOrderByDateDesc",
+                        t -> t.incomeRepository.findByProfileIdOrderByDateDesc(1L), INCOMES_BY_PROFILE_ID),
+                query("IncomeRepository.findRecentViewsByProfileId",
+                        t -> t.incomeRepository.findRecentViewsByProfileId(1L, Limit.of(5)), INCOMES_BY_PROFILE_ID),
+                query("IncomeRepository.findViewsByProfileIdAndDateBetween",
+                        t -> t.incomeRepository.findViewsByProfileIdAndDateBetween(1L, START, END,
+                                Sort.by(Sort.Direction.DESC, "date")), INCOMES_BY_PROFILE),
+                query("IncomeRepository.findPageBefore",
+                        t -> t.incomeRepository.findPageBefore(1L, START, END, null, END.minusDays(11), AT, 42L,
+                                Limit.of(51)), INCOMES_BY_PROFILE),
+                query("IncomeRepository.findIncomeSumBetweenDates",
+                        t -> t.incomeRepository.findIncomeSumBetweenDates(1L, START, END), INCOMES_BY_PROFILE),
+
+                query("DashboardRepository.findRecentTransactionsByProfileId",
+                        t -> t.dashboardRepository.findRecentTransactionsByProfileId(1L, 5),
+                        INCOMES_BY_PROFILE_ID, EXPENSES_BY_PROFILE_ID),
+
+                query("ProfileBalanceRepository.computeTotalsByProfileId",
+                        t -> t.profileBalanceRepository.computeTotalsByProfileId(1L),
+                        INCOMES_BY_PROFILE_ID, EXPENSES_BY_PROFILE_ID),
+
+                query("MonthlyRollupRepository.sumBetweenMonths",
+                        t -> t.monthlyRollupRepository.sumBetweenMonths(1L, "expense", 202501, 202512),
+                        "uk_monthly_rollups_bucket"),
+                query("MonthlyRollupRepository.insertExpenseBucketIfAbsent",
+                        t -> t.monthlyRollupRepository.insertExpenseBucketIfAbsent(1L, 202501, 2L, START, END),
+                        EXPENSES_BY_PROFILE),
+
+                query("MailOutboxRepository.findDueIds",
+                        t -> t.mailOutboxRepository.findDueIds("PENDING", AT, PageRequest.of(0, 100)),
+                        "idx_mail_outbox_status_next_attempt"));
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_usesExpectedIndex(String query, Consumer<QueryPlanTest> call, List<String> indexes) {
+        call.accept(this);
+        List<String> statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+        assertThat(statements).as("SQL sent by %s", query).isNotEmpty();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        StringBuilder plans = new StringBuilder();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertThat(plan).as("plan of %s: %s", query, sql).doesNotContainIgnoringCase("tableScan");
+            plans.append(plan.toLowerCase()).append('\n');
+        }
+        for (String index : indexes) {
+            assertThat(Stream.of(index.split("\\|")))
+                    .as("index %s in plan of %s:%n%s", index, query, plans)
+                    .anyMatch(name -> plans.indexOf(name) >= 0);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.CategoryDTO;
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.util.BoundedTtlCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(CategoryService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ProfileService profileService;
+
+    private ProfileEntity profile;
+    private CategoryEntity food;
+    private CategoryEntity otherProfileCategory;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe").email("john.doe@example.com").password("$2a$10$encoded").isActive(true)
+                .build());
+        ProfileEntity other = entityManager.persist(ProfileEntity.builder()
+                .fullName("Jane Doe").email("jane.doe@example.com").password("$2a$10$encoded").isActive(true)
+                .build());
+        food = entityManager.persist(CategoryEntity.builder().name("Food").type("expense").profile(profile).build());
+        entityManager.persist(CategoryEntity.builder().name("Salary").type("income").profile(profile).build());
+        otherProfileCategory = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(other).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        when(profileService.getCurrentProfileId()).thenReturn(profile.getId());
+        when(profileService.getCurrentProfileReference())
+                .thenAnswer(invocation -> entityManager.getEntityManager().getReference(ProfileEntity.class, profile.getId()));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CategoryDTO> categories(Map<String, Object> data) {
+        return (List<CategoryDTO>) data.get("categories");
+    }
+
+    @Test
+    @DisplayName("daftar kategori dan filter per tipe dibaca dari cache setelah query pertama")
+    void listing_readsThroughCache() {
+        Statistics statistics = statistics();
+        BoundedTtlCache.Stats before = categoryService.getCacheStats();
+
+        assertThat(categories(categoryService.getCategoriesForCurrentUser())).hasSize(2);
+        assertThat(categories(categoryService.getCategoriesByType("income")))
+                .extracting(CategoryDTO::getName).containsExactly("Salary");
+        assertThat(categoryService.findCategory(profile.getId(), food.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(categoryService.getCacheStats().hits() - before.hits()).isEqualTo(2);
+        assertThat(categoryService.getCacheStats().misses() - before.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("kategori milik profil lain tidak ditemukan")
+    void findCategory_otherProfile_isEmpty() {
+        assertThat(categoryService.findCategory(profile.getId(), otherProfileCategory.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("saveCategory dan updateCategory menghapus cache profil")
+    void saveAndUpdate_invalidateCache() {
+        categoryService.getCategoriesForCurrentUser();
+
+        categoryService.saveCategory(CategoryDTO.builder().name("Transport").type("expense").icon("bus").build());
+        assertThat(categories(categoryService.getCategoriesForCurrentUser()))
+                .extracting(CategoryDTO::getName).contains("Transport");
+
+        categoryService.updateCategory(food.getId(), CategoryDTO.builder().name("Groceries").build());
+        assertThat(categoryService.findCategory(profile.getId(), food.getId()))
+                .get().extracting(CategoryDTO::getName).isEqualTo("Groceries");
+    }
+
+    @Test
+    @DisplayName("updateCategory hanya butuh satu select dan satu update")
+    void updateCategory_usesTwoStatements() {
+        Statistics statistics = statistics();
+
+        categoryService.updateCategory(food.getId(), CategoryDTO.builder().icon("bowl").build());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("nama dan tipe yang sama pada saveCategory ditolak oleh unique constraint")
+    void saveCategory_duplicate_isRejected() {
+        assertThatThrownBy(() -> categoryService.saveCategory(
+                CategoryDTO.builder().name("Food").type("expense").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category with this name already exists");
+    }
+
+    @Test
+    @DisplayName("updateCategory yang bentrok dengan kategori lain ditolak oleh unique constraint")
+    void updateCategory_duplicate_isRejected() {
+        assertThatThrownBy(() -> categoryService.updateCategory(food.getId(),
+                CategoryDTO.builder().name("Salary").type("income").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category with this name and type already exists");
+    }
+}
@@ -0,0 +1,209 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.RecentTransactionDTO;
+import dev.hananfarizta.moneymanager.entity.ProfileBalanceEntity;
+import dev.hananfarizta.moneymanager.repository.DashboardRepository;
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import dev.hananfarizta.moneymanager.repository.projection.TransactionView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("john.doe@example.com",
+            null, List.of());
+
+    private DashboardRepository dashboardRepository;
+    private IncomeRepository incomeRepository;
+    private ExpenseRepository expenseRepository;
+    private ProfileBalanceService profileBalanceService;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardRepository = Mockito.mock(DashboardRepository.class);
+        incomeRepository = Mockito.mock(IncomeRepository.class);
+        expenseRepository = Mockito.mock(ExpenseRepository.class);
+        profileBalanceService = Mockito.mock(ProfileBalanceService.class);
+        ProfileService profileService = Mockito.mock(ProfileService.class);
+        when(profileService.getCurrentProfileId()).thenReturn(1L);
+
+        dashboardService = new DashboardService(dashboardRepository, incomeRepository, expenseRepository,
+                profileBalanceService, profileService,
+                Mockito.mock(PlatformTransactionManager.class), true, Duration.ofMillis(500), 2);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    private ProfileBalanceEntity balance() {
+        return ProfileBalanceEntity.builder().profileId(1L)
+                .totalIncomes(new BigDecimal("100.00")).totalExpenses(new BigDecimal("40.00")).build();
+    }
+
+    @Test
+    @DisplayName("sub-query dashboard berjalan bersamaan dengan SecurityContext pemanggil")
+    void parallel_runsSubqueriesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicReference<Authentication> seenBySubquery = new AtomicReference<>();
+        when(profileBalanceService.getBalance(1L)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            seenBySubquery.set(SecurityContextHolder.getContext().getAuthentication());
+            return balance();
+        });
+        when(dashboardRepository.findRecentTransactionsByProfileId(1L, 5)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of();
+        });
+
+        Map<String, Object> data = dashboardService.getDashboardData();
+
+        assertThat(data).containsEntry("totalBalance", new BigDecimal("60.00")).doesNotContainKey("unavailable");
+        assertThat(seenBySubquery.get()).isSameAs(authentication);
+    }
+
+    @Test
+    @DisplayName("sub-query yang melewati timeout dikembalikan sebagai unavailable, sisanya tetap terisi")
+    void parallel_timeout_returnsPartialResult() {
+        CountDownLatch never = new CountDownLatch(1);
+        when(profileBalanceService.getBalance(1L)).thenReturn(balance());
+        when(dashboardRepository.findRecentTransactionsByProfileId(1L, 5)).thenAnswer(invocation -> {
+            never.await();
+            return List.of();
+        });
+
+        Map<String, Object> data = dashboardService.getDashboardData();
+
+        assertThat(data).containsEntry("totalIncomes", new BigDecimal("100.00"))
+                .containsEntry("unavailable", List.of("recentTransactions"))
+                .containsEntry("recentTransactions", List.of());
+    }
+
+    @Test
+    @DisplayName("tanpa izin untuk kedua sub-query dashboard dibaca berurutan di thread pemanggil")
+    void parallel_withoutPermits_readsSequentially() {
+        ProfileService profileService = Mockito.mock(ProfileService.class);
+        when(profileService.getCurrentProfileId()).thenReturn(1L);
+        DashboardService capped = new DashboardService(dashboardRepository, incomeRepository, expenseRepository,
+                profileBalanceService, profileService,
+                Mockito.mock(PlatformTransactionManager.class), true, Duration.ofMillis(500), 1);
+        AtomicReference<Thread> balanceThread = new AtomicReference<>();
+        when(profileBalanceService.getBalance(1L)).thenAnswer(invocation -> {
+            balanceThread.set(Thread.currentThread());
+            return balance();
+        });
+        when(dashboardRepository.findRecentTransactionsByProfileId(1L, 5)).thenReturn(List.of());
+
+        try {
+            assertThat(capped.getDashboardData())
+                    .containsEntry("totalBalance", new BigDecimal("60.00")).doesNotContainKey("unavailable");
+            assertThat(balanceThread.get()).isSameAs(Thread.currentThread());
+        } finally {
+            capped.stop();
+        }
+    }
+
+    private static TransactionView view(long id, LocalDate date, int minute) {
+        TransactionView view = Mockito.mock(TransactionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getDate()).thenReturn(date);
+        when(view.getCreatedAt()).thenReturn(date.atTime(12, minute));
+        return view;
+    }
+
+    // findPageBefore over an in-memory table: rows strictly after the keyset position, newest first
+    private static Answer<List<TransactionView>> keyset(List<TransactionView> table, AtomicInteger rowsRead) {
+        Comparator<TransactionView> newestFirst = Comparator.comparing(TransactionView::getDate)
+                .thenComparing(TransactionView::getCreatedAt).thenComparing(TransactionView::getId).reversed();
+        return invocation -> {
+            LocalDate date = invocation.getArgument(4);
+            LocalDateTime createdAt = invocation.getArgument(5);
+            Long id = invocation.getArgument(6);
+            Limit limit = invocation.getArgument(7);
+            List<TransactionView> page = table.stream()
+                    .filter(row -> row.getDate().isBefore(date) || (row.getDate().equals(date)
+                            && (row.getCreatedAt().isBefore(createdAt)
+                                    || (row.getCreatedAt().equals(createdAt) && row.getId() < id))))
+                    .sorted(newestFirst)
+                    .limit(limit.max())
+                    .toList();
+            rowsRead.addAndGet(page.size());
+            return page;
+        };
+    }
+
+    @Test
+    @DisplayName("feed terbaru menggabungkan pemasukan dan pengeluaran berurutan tanpa membaca berlebihan")
+    void recentTransactions_mergesInOrder() {
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        // incomes on even days, expenses on odd days, so the feed alternates
+        List<TransactionView> incomes = IntStream.range(0, 30)
+                .mapToObj(i -> view(100 + i, day.plusDays(2L * i), 0)).toList();
+        List<TransactionView> expenses = IntStream.range(0, 30)
+                .mapToObj(i -> view(200 + i, day.plusDays(2L * i + 1), 0)).toList();
+        AtomicInteger rowsRead = new AtomicInteger();
+        when(incomeRepository.findPageBefore(eq(1L), any(), any(), isNull(), any(), any(), any(), any()))
+                .thenAnswer(keyset(incomes, rowsRead));
+        when(expenseRepository.findPageBefore(eq(1L), any(), any(), isNull(), any(), any(), any(), any()))
+                .thenAnswer(keyset(expenses, rowsRead));
+
+        List<RecentTransactionDTO> feed = dashboardService.getRecentTransactions(7);
+
+        assertThat(feed).extracting(RecentTransactionDTO::getId)
+                .containsExactly(229L, 129L, 228L, 128L, 227L, 127L, 226L);
+        assertThat(feed).extracting(RecentTransactionDTO::getType)
+                .containsExactly("expense", "income", "expense", "income", "expense", "income", "expense");
+        assertThat(rowsRead.get()).isLessThanOrEqualTo(7 + 4);
+    }
+
+    @Test
+    @DisplayName("feed terbaru dari satu tipe saja melanjutkan cursor tipe itu sampai limit")
+    void recentTransactions_refillsOneSide() {
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        List<TransactionView> incomes = IntStream.range(0, 10).mapToObj(i -> view(100 + i, day, i)).toList();
+        AtomicInteger rowsRead = new AtomicInteger();
+        when(incomeRepository.findPageBefore(eq(1L), any(), any(), isNull(), any(), any(), any(), any()))
+                .thenAnswer(keyset(incomes, rowsRead));
+        when(expenseRepository.findPageBefore(eq(1L), any(), any(), isNull(), any(), any(), any(), any()))
+                .thenAnswer(keyset(List.of(), rowsRead));
+
+        assertThat(dashboardService.getRecentTransactions(6)).extracting(RecentTransactionDTO::getId)
+                .containsExactly(109L, 108L, 107L, 106L, 105L, 104L);
+        assertThat(rowsRead.get()).isEqualTo(6);
+        assertThatThrownBy(() -> dashboardService.getRecentTransactions(101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package dev.hananfarizta.moneymanager.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import dev.hananfarizta.moneymanager.dto.EmailDeliveryResultDTO;
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import dev.hananfarizta.moneymanager.entity.MailOutboxEntity;
+import dev.hananfarizta.moneymanager.repository.MailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DataJpaTest
+@Import({ EmailService.class, MailDispatcher.class, SmtpTransportPool.class, EmailServiceTest.MailConfig.class })
+@TestPropertySource(properties = {
+        "SMTP_MAIL_FROM=noreply@moneymanager.test",
+        "app.mail.workers=2",
+        "app.mail.smtp-pool-size=1",
+        "app.mail.initial-backoff=PT1M"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("email dikirim oleh worker dan outbox ditandai SENT")
+    void sendEmail_deliversThroughOutbox() throws Exception {
+        emailService.sendEmail("john.doe@example.com", "Activate Your Account", "Click the link");
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Activate Your Account");
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo("john.doe@example.com");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            MailOutboxEntity mail = mailOutboxRepository.findAll().get(0);
+            assertThat(mail.getStatus()).isEqualTo(MailOutboxEntity.STATUS_SENT);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+            assertThat(mail.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("kegagalan SMTP tidak hilang: outbox tetap PENDING dengan jadwal retry")
+    void sendEmail_whenSmtpDown_schedulesRetry() {
+        greenMail.stop();
+
+        emailService.sendEmail("john.doe@example.com", "Activate Your Account", "Click the link");
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            List<MailOutboxEntity> mails = mailOutboxRepository.findAll();
+            assertThat(mails).hasSize(1);
+            assertThat(mails.get(0).getAttempts()).isEqualTo(1);
+            assertThat(mails.get(0).getStatus()).isEqualTo(MailOutboxEntity.STATUS_PENDING);
+            assertThat(mails.get(0).getLastError()).isNotBlank();
+            assertThat(mails.get(0).getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(30));
+        });
+    }
+
+    @Test
+    @DisplayName("deliverNow mengirim batch lewat koneksi yang dipakai ulang dan tersambung lagi setelah server restart")
+    void deliverNow_reusesAndReconnectsTransport() {
+        List<EmailMessageDTO> batch = IntStream.range(0, 5)
+                .mapToObj(i -> EmailMessageDTO.builder()
+                        .to("user" + i + "@example.com")
+                        .subject("Summary " + i)
+                        .body("Body " + i)
+                        .build())
+                .toList();
+
+        assertThat(emailService.deliverNow(batch)).allMatch(EmailDeliveryResultDTO::isSent);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+
+        greenMail.reset();
+
+        List<EmailDeliveryResultDTO> afterRestart = emailService.deliverNow(batch);
+        assertThat(afterRestart).extracting(EmailDeliveryResultDTO::getTo)
+                .containsExactly("user0@example.com", "user1@example.com", "user2@example.com",
+                        "user3@example.com", "user4@example.com");
+        assertThat(afterRestart).allMatch(EmailDeliveryResultDTO::isSent);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class ExcelExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    @DisplayName("ekspor 1 juta baris: throughput baris/detik dan heap tetap datar")
+    @SuppressWarnings("unchecked")
+    void export_millionRows() throws Exception {
+        ExpenseService expenseService = Mockito.mock(ExpenseService.class);
+        ExcelExportService excelExportService = new ExcelExportService(expenseService, Mockito.mock(IncomeService.class));
+        long[] heapMidway = new long[1];
+
+        doAnswer(invocation -> {
+            Consumer<ExpenseDTO> sink = invocation.getArgument(5);
+            LocalDate day = LocalDate.of(2000, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                sink.accept(ExpenseDTO.builder().name("Expense " + i).categoryName("Food")
+                        .amount(BigDecimal.valueOf(i % 10_000, 2)).date(day.plusDays(i % 9_000)).build());
+                if (i == ROWS / 2) {
+                    heapMidway[0] = usedHeapAfterGc();
+                }
+            }
+            return null;
+        }).when(expenseService).streamExpenses(anyLong(), any(), any(), any(), any(), any(Consumer.class));
+
+        CountingOutputStream out = new CountingOutputStream();
+        long heapBefore = usedHeapAfterGc();
+        long started = System.nanoTime();
+
+        excelExportService.export(1L, "expense", LocalDate.MIN, LocalDate.now(), out);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("XLSX export: %,d rows in %.1f s = %,.0f rows/sec, %,d bytes, heap growth at midpoint %,d KB%n",
+                ROWS, seconds, ROWS / seconds, out.bytes, (heapMidway[0] - heapBefore) / 1024);
+
+        assertThat(out.bytes).isPositive();
+        assertThat(heapMidway[0] - heapBefore).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
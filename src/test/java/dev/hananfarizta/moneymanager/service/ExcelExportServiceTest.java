@@ -0,0 +1,93 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import dev.hananfarizta.moneymanager.dto.IncomeDTO;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExcelExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    private ExpenseService expenseService;
+    private IncomeService incomeService;
+    private ExcelExportService excelExportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        expenseService = Mockito.mock(ExpenseService.class);
+        incomeService = Mockito.mock(IncomeService.class);
+        excelExportService = new ExcelExportService(expenseService, incomeService);
+
+        doAnswer(invocation -> {
+            Consumer<ExpenseDTO> sink = invocation.getArgument(5);
+            sink.accept(ExpenseDTO.builder().name("Kopi").categoryName("Food")
+                    .amount(new BigDecimal("12.50")).date(LocalDate.of(2025, 3, 1)).build());
+            sink.accept(ExpenseDTO.builder().name("Roti").categoryName("Food")
+                    .amount(new BigDecimal("8.00")).date(LocalDate.of(2025, 3, 2)).build());
+            return null;
+        }).when(expenseService).streamExpenses(eq(1L), eq(START), eq(END), isNull(), any(), any(Consumer.class));
+        doAnswer(invocation -> {
+            Consumer<IncomeDTO> sink = invocation.getArgument(5);
+            sink.accept(IncomeDTO.builder().name("Gaji").categoryname("Salary")
+                    .amount(new BigDecimal("1000.00")).date(LocalDate.of(2025, 3, 1)).build());
+            return null;
+        }).when(incomeService).streamIncomes(eq(1L), eq(START), eq(END), isNull(), any(), any(Consumer.class));
+    }
+
+    private XSSFWorkbook export(String type) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        excelExportService.export(1L, type, START, END, out);
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("ekspor semua menulis sheet Incomes dan Expenses dengan header dan nilai bertipe")
+    void export_all_writesBothSheets() throws Exception {
+        try (XSSFWorkbook workbook = export(ExcelExportService.TYPE_ALL)) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+            assertThat(workbook.getSheetName(0)).isEqualTo("Incomes");
+
+            Sheet expenses = workbook.getSheet("Expenses");
+            assertThat(expenses.getLastRowNum()).isEqualTo(2);
+            assertThat(expenses.getRow(0).getCell(3).getStringCellValue()).isEqualTo("Amount");
+            assertThat(expenses.getRow(1).getCell(0).getLocalDateTimeCellValue().toLocalDate())
+                    .isEqualTo(LocalDate.of(2025, 3, 1));
+            assertThat(expenses.getRow(1).getCell(1).getStringCellValue()).isEqualTo("Kopi");
+            assertThat(expenses.getRow(2).getCell(3).getNumericCellValue()).isEqualTo(8.0);
+        }
+    }
+
+    @Test
+    @DisplayName("ekspor satu tipe hanya membaca repository tipe itu")
+    void export_singleType_readsOnlyThatType() throws Exception {
+        try (XSSFWorkbook workbook = export("income")) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+            assertThat(workbook.getSheet("Incomes").getRow(1).getCell(2).getStringCellValue()).isEqualTo("Salary");
+        }
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    @DisplayName("tipe tidak dikenal ditolak")
+    void export_rejectsUnknownType() {
+        assertThatThrownBy(() -> export("transfer"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import dev.hananfarizta.moneymanager.dto.ExportJobDTO;
+import dev.hananfarizta.moneymanager.exception.custom.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExportJobServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final Sort SORT = Sort.by("date");
+
+    @TempDir
+    Path directory;
+
+    private ExpenseService expenseService;
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        expenseService = Mockito.mock(ExpenseService.class);
+        exportJobService = new ExportJobService(Mockito.mock(ExcelExportService.class),
+                Mockito.mock(IncomeService.class), expenseService, directory, 1, 1, 1, Duration.ZERO);
+        exportJobService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.stop();
+    }
+
+    private ExportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ExportJobDTO job = exportJobService.getJob(1L, jobId);
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = exportJobService.getJob(1L, jobId);
+        }
+        return job;
+    }
+
+    @Test
+    @DisplayName("job CSV menulis file yang bisa diunduh dengan kolom yang sama seperti impor")
+    @SuppressWarnings("unchecked")
+    void submit_csv_writesDownloadableFile() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ExpenseDTO> sink = invocation.getArgument(5);
+            sink.accept(ExpenseDTO.builder().name("Kopi, susu").categoryName("Food").categoryId(7L)
+                    .amount(new BigDecimal("12.50")).date(LocalDate.of(2025, 3, 1)).build());
+            return null;
+        }).when(expenseService).streamExpenses(eq(1L), eq(START), eq(END), eq("kopi"), eq(SORT),
+                any(Consumer.class));
+
+        ExportJobDTO submitted = exportJobService.submit(1L, ExportJobService.FORMAT_CSV, "expense", START, END,
+                "kopi", SORT);
+        ExportJobDTO job = awaitFinished(submitted.getId());
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobService.STATUS_DONE);
+        assertThat(job.getRows()).isEqualTo(1L);
+        Path file = exportJobService.getResultFile(1L, job.getId());
+        assertThat(Files.readAllLines(file)).containsExactly(
+                "date,name,category,categoryId,amount,icon",
+                "2025-03-01,\"Kopi, susu\",Food,7,12.50,");
+        assertThatThrownBy(() -> exportJobService.getJob(2L, job.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("profil yang sudah mencapai batas job aktif ditolak sampai job-nya selesai")
+    @SuppressWarnings("unchecked")
+    void submit_overProfileCap_isRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(expenseService).streamExpenses(anyLong(), any(), any(), any(), any(), any(Consumer.class));
+
+        ExportJobDTO first = exportJobService.submit(1L, ExportJobService.FORMAT_CSV, "expense", START, END, "",
+                SORT);
+        assertThatThrownBy(() -> exportJobService.submit(1L, ExportJobService.FORMAT_CSV, "expense", START, END,
+                "", SORT)).isInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        assertThat(awaitFinished(first.getId()).getStatus()).isEqualTo(ExportJobService.STATUS_DONE);
+        assertThat(exportJobService.submit(1L, ExportJobService.FORMAT_CSV, "expense", START, END, "", SORT))
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("job yang sudah melewati ttl dihapus beserta file-nya")
+    void purgeExpired_deletesFinishedFiles() throws Exception {
+        ExportJobDTO job = awaitFinished(exportJobService.submit(1L, ExportJobService.FORMAT_CSV, "expense", START,
+                END, "", SORT).getId());
+        Path file = exportJobService.getResultFile(1L, job.getId());
+
+        exportJobService.purgeExpired();
+
+        assertThat(file).doesNotExist();
+        assertThatThrownBy(() -> exportJobService.getJob(1L, job.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.MonthlyRollupEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.MonthlyRollupRepository;
+import dev.hananfarizta.moneymanager.repository.projection.MonthlyTotalView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(MonthlyRollupService.class)
+class MonthlyRollupServiceTest {
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProfileEntity profile;
+    private CategoryEntity food;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+    }
+
+    private void expense(String amount, LocalDate date) {
+        ExpenseEntity saved = entityManager.persist(ExpenseEntity.builder()
+                .name("Makan").amount(new BigDecimal(amount)).date(date)
+                .category(food).profile(profile).build());
+        monthlyRollupService.applyExpense(profile.getId(), food.getId(), saved.getDate(), saved.getAmount(), 1);
+    }
+
+    @Test
+    @DisplayName("write path membuat bucket baru lalu menambah delta ke bucket yang sama")
+    void apply_createsThenIncrementsBucket() {
+        expense("10.00", LocalDate.of(2025, 1, 5));
+        expense("15.00", LocalDate.of(2025, 1, 20));
+        entityManager.clear();
+
+        assertThat(monthlyRollupRepository.findAll())
+                .singleElement()
+                .satisfies(bucket -> {
+                    assertThat(bucket.getYearMonth()).isEqualTo(202501);
+                    assertThat(bucket.getTotalAmount()).isEqualByComparingTo("25.00");
+                    assertThat(bucket.getTransactionCount()).isEqualTo(2L);
+                });
+    }
+
+    @Test
+    @DisplayName("sumExpensesBetween menggabungkan bulan penuh dari rollup dengan bulan tepi dari data mentah")
+    void sumBetween_combinesRollupAndEdgeMonths() {
+        expense("1.00", LocalDate.of(2025, 1, 10));
+        expense("2.00", LocalDate.of(2025, 1, 20));
+        expense("4.00", LocalDate.of(2025, 2, 1));
+        expense("8.00", LocalDate.of(2025, 3, 31));
+        expense("16.00", LocalDate.of(2025, 4, 5));
+        expense("32.00", LocalDate.of(2025, 4, 25));
+
+        // Jan 15 .. Apr 10: partial Jan (2.00) + full Feb..Mar (12.00) + partial Apr (16.00)
+        assertThat(monthlyRollupService.sumExpensesBetween(profile.getId(),
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 10))).isEqualByComparingTo("30.00");
+
+        // whole range of months, answered from the rollup only
+        assertThat(monthlyRollupService.sumExpensesBetween(profile.getId(),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 30))).isEqualByComparingTo("63.00");
+
+        // inside a single month
+        assertThat(monthlyRollupService.sumExpensesBetween(profile.getId(),
+                LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 10))).isEqualByComparingTo("16.00");
+
+        // unbounded start
+        assertThat(monthlyRollupService.sumExpensesBetween(profile.getId(),
+                LocalDate.MIN, LocalDate.of(2025, 2, 28))).isEqualByComparingTo("7.00");
+    }
+
+    @Test
+    @DisplayName("backfillRollups membangun ulang seluruh bucket dari tabel dasar tanpa menghapus bucket")
+    void backfill_rebuildsFromBaseTables() {
+        // stale bucket whose transactions are gone: recomputed to zero, not deleted
+        entityManager.persist(MonthlyRollupEntity.builder()
+                .profileId(profile.getId()).yearMonth(202411).categoryId(food.getId())
+                .type(MonthlyRollupService.TYPE_EXPENSE)
+                .totalAmount(new BigDecimal("99.00")).transactionCount(3L).build());
+        entityManager.persist(ExpenseEntity.builder()
+                .name("Lama").amount(new BigDecimal("5.00")).date(LocalDate.of(2024, 12, 1))
+                .category(food).profile(profile).build());
+        entityManager.persist(ExpenseEntity.builder()
+                .name("Lama").amount(new BigDecimal("7.00")).date(LocalDate.of(2024, 12, 31))
+                .category(food).profile(profile).build());
+        entityManager.flush();
+
+        monthlyRollupService.backfillRollups();
+
+        List<MonthlyTotalView> totals = monthlyRollupService.getMonthlyTotals(profile.getId(),
+                MonthlyRollupService.TYPE_EXPENSE, YearMonth.of(2024, 1), YearMonth.of(2025, 12));
+        assertThat(totals).hasSize(2);
+        assertThat(totals.get(0).getYearMonth()).isEqualTo(202411);
+        assertThat(totals.get(0).getTotalAmount()).isEqualByComparingTo("0.00");
+        assertThat(totals.get(1).getYearMonth()).isEqualTo(202412);
+        assertThat(totals.get(1).getTotalAmount()).isEqualByComparingTo("12.00");
+    }
+}
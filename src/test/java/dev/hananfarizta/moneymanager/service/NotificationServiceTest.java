@@ -0,0 +1,106 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.EmailMessageDTO;
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(NotificationService.class)
+@TestPropertySource(properties = {
+        "money.manager.frontend.url=http://localhost:3000",
+        "app.notification.page-size=2"
+})
+class NotificationServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private final Map<Long, CategoryEntity> categories = new HashMap<>();
+
+    private ProfileEntity profile(String name) {
+        return entityManager.persist(ProfileEntity.builder()
+                .fullName(name)
+                .email(name.toLowerCase() + "@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+    }
+
+    // one "Food" category per profile; names are unique per profile and type
+    private void expense(ProfileEntity profile, String name, LocalDate date) {
+        CategoryEntity category = categories.computeIfAbsent(profile.getId(), id -> entityManager.persist(
+                CategoryEntity.builder().name("Food").type("expense").profile(profile).build()));
+        entityManager.persist(ExpenseEntity.builder()
+                .name(name).amount(new BigDecimal("10.00")).date(date)
+                .category(category).profile(profile).build());
+    }
+
+    @Test
+    @DisplayName("ringkasan harian hanya dikirim ke profil yang punya pengeluaran hari ini, per halaman")
+    @SuppressWarnings("unchecked")
+    void dailyExpenseSummary_pagesThroughProfiles() {
+        ProfileEntity alice = profile("Alice");
+        profile("Bob");
+        ProfileEntity carol = profile("Carol");
+        expense(alice, "Makan siang", TODAY);
+        expense(carol, "Kopi <susu>", TODAY);
+        expense(carol, "Kemarin", TODAY.minusDays(1));
+        entityManager.flush();
+
+        NotificationService.RunStats stats = notificationService.runDailyExpenseSummary(TODAY);
+
+        assertThat(stats.pages()).isEqualTo(2);
+        assertThat(stats.profiles()).isEqualTo(3);
+        assertThat(stats.mailsQueued()).isEqualTo(2);
+
+        ArgumentCaptor<List<EmailMessageDTO>> batches = ArgumentCaptor.forClass(List.class);
+        verify(emailService, times(2)).sendEmails(batches.capture());
+        List<EmailMessageDTO> mails = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertThat(mails).extracting(EmailMessageDTO::getTo)
+                .containsExactly("alice@example.com", "carol@example.com");
+        assertThat(mails.get(1).getBody())
+                .contains("Hi Carol", "Kopi &lt;susu&gt;", "10.00", "Food")
+                .doesNotContain("Kemarin", "<susu>");
+        assertThat(mails).allMatch(EmailMessageDTO::isHtml);
+    }
+
+    @Test
+    @DisplayName("pengingat harian dikirim ke semua profil")
+    void dailyReminder_queuesMailForEveryProfile() {
+        profile("Alice");
+        profile("Bob");
+        profile("Carol");
+        entityManager.flush();
+
+        notificationService.sendDailyIncomeExpenseReminder();
+
+        verify(emailService, times(2)).sendEmails(anyList());
+    }
+}
@@ -0,0 +1,63 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.repository.ProfileBalanceRepository;
+import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProfileBalanceServiceTest {
+
+    private ProfileBalanceRepository profileBalanceRepository;
+    private ProfileBalanceService profileBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        profileBalanceRepository = Mockito.mock(ProfileBalanceRepository.class);
+        profileBalanceService = new ProfileBalanceService(profileBalanceRepository,
+                Mockito.mock(ProfileRepository.class), Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("penulisan pertama membuat baris ledger dari tabel dasar tanpa menambah delta lagi")
+    void firstWrite_insertsFromBaseTables() {
+        when(profileBalanceRepository.addToTotalIncomes(eq(1L), any(), any())).thenReturn(0);
+        when(profileBalanceRepository.insertFromTransactionsIfAbsent(1L)).thenReturn(1);
+
+        profileBalanceService.applyIncome(1L, BigDecimal.TEN);
+
+        verify(profileBalanceRepository, times(1)).addToTotalIncomes(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("penulisan pertama yang kalah balapan insert menambahkan delta ke baris yang sudah dibuat")
+    void firstWrite_lostInsertRace_addsDelta() {
+        when(profileBalanceRepository.addToTotalExpenses(eq(1L), any(), any())).thenReturn(0, 1);
+        when(profileBalanceRepository.insertFromTransactionsIfAbsent(1L)).thenReturn(0);
+
+        profileBalanceService.applyExpense(1L, BigDecimal.TEN);
+
+        verify(profileBalanceRepository, times(2)).addToTotalExpenses(eq(1L), eq(BigDecimal.TEN), any());
+    }
+
+    @Test
+    @DisplayName("rekonsiliasi mengunci baris ledger sebelum menghitung ulang")
+    void reconcile_locksBeforeRecompute() {
+        when(profileBalanceRepository.insertFromTransactionsIfAbsent(1L)).thenReturn(0);
+
+        assertThat(profileBalanceService.reconcile(1L)).isFalse();
+
+        InOrder inOrder = inOrder(profileBalanceRepository);
+        inOrder.verify(profileBalanceRepository).lockByProfileId(1L);
+        inOrder.verify(profileBalanceRepository).recomputeFromTransactions(1L);
+    }
+}
@@ -4,6 +4,7 @@ import dev.hananfarizta.moneymanager.dto.AuthDTO;
 import dev.hananfarizta.moneymanager.dto.ProfileDTO;
 import dev.hananfarizta.moneymanager.entity.ProfileEntity;
 import dev.hananfarizta.moneymanager.repository.ProfileRepository;
+import dev.hananfarizta.moneymanager.security.ProfileCache;
 import dev.hananfarizta.moneymanager.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -42,6 +43,8 @@ class ProfileServiceTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private JwtUtil jwtUtil;
+    @Mock
+    private ProfileCache profileCache;
 
     @InjectMocks
     private ProfileService profileService;
@@ -210,6 +213,7 @@ class ProfileServiceTest {
             assertThat(res).isTrue();
             assertThat(entity.getIsActive()).isTrue();
             verify(profileRepository).save(entity);
+            verify(profileCache).invalidate(entity);
         }
 
         @Test
@@ -245,7 +249,7 @@ class ProfileServiceTest {
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenReturn(authResult);
 
-            when(jwtUtil.generateToken(auth.getEmail())).thenReturn("jwt-token-123");
+            when(jwtUtil.generateToken(entity)).thenReturn("jwt-token-123");
 
             Map<String, Object> res = profileService.authenticateAndGenerateToken(auth);
 
@@ -0,0 +1,181 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.IncomeEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.IncomeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Pins the number of SQL statements each read use case issues, so N+1 regressions fail here
+@DataJpaTest
+@Import({ ExpenseService.class, IncomeService.class, CategoryService.class, TransactionNameSearch.class, NotificationService.class })
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "money.manager.frontend.url=http://localhost:3000",
+        "app.notification.page-size=2"
+})
+class QueryCountTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ProfileService profileService;
+
+    @MockitoBean
+    private ProfileBalanceService profileBalanceService;
+
+    @MockitoBean
+    private MonthlyRollupService monthlyRollupService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private ProfileEntity profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = persistProfile("Alice");
+        persistProfile("Bob");
+        persistProfile("Carol");
+
+        // one category per row, so a per-row category load would show up as extra statements
+        for (int i = 0; i < 4; i++) {
+            CategoryEntity food = entityManager.persist(CategoryEntity.builder()
+                    .name("Food " + i).type("expense").profile(profile).build());
+            CategoryEntity salary = entityManager.persist(CategoryEntity.builder()
+                    .name("Salary " + i).type("income").profile(profile).build());
+            entityManager.persist(ExpenseEntity.builder()
+                    .name("Kopi " + i).amount(new BigDecimal("10.00")).date(TODAY)
+                    .category(food).profile(profile).build());
+            entityManager.persist(IncomeEntity.builder()
+                    .name("Gaji " + i).amount(new BigDecimal("100.00")).date(TODAY)
+                    .category(salary).profile(profile).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        when(profileService.getCurrentProfileId()).thenReturn(profile.getId());
+    }
+
+    private ProfileEntity persistProfile(String name) {
+        return entityManager.persist(ProfileEntity.builder()
+                .fullName(name)
+                .email(name.toLowerCase() + "@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+    }
+
+    private long statements(Runnable useCase) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        useCase.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("daftar bulan ini, lima terbaru dan filter masing-masing satu query")
+    void listings_issueOneStatement() {
+        Sort byDate = Sort.by(Sort.Direction.DESC, "date");
+
+        assertThat(statements(expenseService::getCurrentMonthExpensesForCurrentUser)).isEqualTo(1);
+        assertThat(statements(incomeService::getCurrentMonthIncomesForCurrentUser)).isEqualTo(1);
+        assertThat(statements(expenseService::getLatestFiveExpensesForCurrentUser)).isEqualTo(1);
+        assertThat(statements(incomeService::getLatestFiveIncomesForCurrentUser)).isEqualTo(1);
+        assertThat(statements(() -> expenseService.filterExpenses(TODAY, TODAY, "", byDate))).isEqualTo(1);
+        assertThat(statements(() -> incomeService.filterIncomes(TODAY, TODAY, "", byDate))).isEqualTo(1);
+        assertThat(statements(() -> expenseService.getExpensesPage(TODAY, TODAY, null, null, 2))).isEqualTo(1);
+        assertThat(statements(() -> expenseService.getExpensesForUserOnDate(profile.getId(), TODAY))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("filter dengan kata kunci: bangun index sekali lalu satu query untuk memuat hasil")
+    void keywordFilter_buildsIndexOnceThenLoadsInOneStatement() {
+        Sort byRelevance = Sort.by(TransactionNameSearch.SORT_RELEVANCE);
+
+        assertThat(statements(() -> expenseService.filterExpenses(TODAY, TODAY, "kopi", byRelevance))).isEqualTo(2);
+        assertThat(statements(() -> expenseService.filterExpenses(TODAY, TODAY, "kopi", byRelevance))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("filter dengan dan tanpa kata kunci menerima dan menolak field sort yang sama")
+    void filter_sortsTheSameWithAndWithoutKeyword() {
+        Sort byCategory = Sort.by(Sort.Direction.DESC, "categoryName");
+
+        assertThat(names(expenseService.filterExpenses(TODAY, TODAY, "", byCategory)))
+                .containsExactly("Kopi 3", "Kopi 2", "Kopi 1", "Kopi 0");
+        assertThat(names(expenseService.filterExpenses(TODAY, TODAY, "kopi", byCategory)))
+                .containsExactly("Kopi 3", "Kopi 2", "Kopi 1", "Kopi 0");
+
+        Sort bySearchName = Sort.by("searchName");
+        assertThatThrownBy(() -> expenseService.filterExpenses(TODAY, TODAY, "", bySearchName))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> expenseService.filterExpenses(TODAY, TODAY, "kopi", bySearchName))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> names(Map<String, Object> result) {
+        return ((List<ExpenseDTO>) result.get("expenses")).stream().map(ExpenseDTO::getName).toList();
+    }
+
+    @Test
+    @DisplayName("entity graph memuat kategori bersama daftar entity")
+    void entityListing_fetchesCategoryWithGraph() {
+        assertThat(statements(() -> expenseRepository.findByProfileIdOrderByDateDesc(profile.getId())
+                .forEach(expense -> expense.getCategory().getName()))).isEqualTo(1);
+        assertThat(statements(() -> incomeRepository.findByProfileIdOrderByDateDesc(profile.getId())
+                .forEach(income -> income.getCategory().getName()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ringkasan harian: dua query per halaman profil")
+    void dailySummary_issuesTwoStatementsPerPage() {
+        assertThat(statements(() -> notificationService.runDailyExpenseSummary(TODAY))).isEqualTo(4);
+    }
+}
@@ -0,0 +1,140 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.dto.ExpenseDTO;
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import dev.hananfarizta.moneymanager.repository.ExpenseRepository;
+import dev.hananfarizta.moneymanager.repository.projection.MonthlyTotalView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({ ExpenseService.class, CategoryService.class, TransactionNameSearch.class, ProfileBalanceService.class, MonthlyRollupService.class })
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionImportTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ProfileBalanceService profileBalanceService;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ProfileService profileService;
+
+    private ProfileEntity profile;
+    private CategoryEntity food;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+        entityManager.flush();
+
+        when(profileService.getCurrentProfileReference())
+                .thenAnswer(invocation -> entityManager.getEntityManager().getReference(ProfileEntity.class, profile.getId()));
+    }
+
+    private ExpenseDTO row(String name, String amount) {
+        return ExpenseDTO.builder().name(name).amount(new BigDecimal(amount)).date(JANUARY).categoryId(food.getId()).build();
+    }
+
+    @Test
+    @DisplayName("impor JSON disimpan dalam batch JDBC dan memperbarui saldo serta rollup sekali")
+    void importExpenses_insertsInBatches() {
+        List<ExpenseDTO> rows = IntStream.range(0, 120).mapToObj(i -> row("Kopi " + i, "2.50")).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        expenseService.importExpenses(rows);
+
+        // 120 inserts at batch_size 50 go out as 3 batches; per-row IDENTITY inserts would prepare 120 statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(expenseRepository.count()).isEqualTo(120);
+        assertThat(profileBalanceService.getBalance(profile.getId()).getTotalExpenses())
+                .isEqualByComparingTo("300.00");
+        assertThat(monthlyRollupService.getMonthlyTotals(profile.getId(), MonthlyRollupService.TYPE_EXPENSE,
+                YearMonth.of(2025, 1), YearMonth.of(2025, 1)))
+                .extracting(MonthlyTotalView::getTotalAmount)
+                .containsExactly(new BigDecimal("300.00"));
+    }
+
+    @Test
+    @DisplayName("satu baris tidak valid menolak seluruh impor dengan nomor barisnya")
+    void importExpenses_rejectsWholeBatchOnInvalidRow() {
+        List<ExpenseDTO> rows = List.of(row("Kopi", "2.50"), row("Gratis", "0"));
+
+        assertThatThrownBy(() -> expenseService.importExpenses(rows))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row 2: Expense amount must be greater than zero");
+        assertThat(expenseRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("impor CSV membaca header dan field yang dikutip")
+    void importExpensesCsv_readsQuotedFields() {
+        String csv = "name,amount,date,categoryId\n"
+                + "\"Kopi, susu\",12.50,2025-01-15," + food.getId() + "\n"
+                + "Roti,8," + "," + food.getId() + "\n";
+
+        assertThat(expenseService.importExpensesCsv(new StringReader(csv))).containsEntry("imported", 2);
+        assertThat(expenseRepository.findAll()).extracting(ExpenseEntity::getName)
+                .containsExactlyInAnyOrder("Kopi, susu", "Roti");
+    }
+
+    @Test
+    @DisplayName("kategori milik profil lain ditolak")
+    void importExpenses_rejectsForeignCategory() {
+        ProfileEntity other = entityManager.persist(ProfileEntity.builder()
+                .fullName("Jane Doe").email("jane.doe@example.com").password("$2a$10$encoded").isActive(true).build());
+        CategoryEntity foreign = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(other).build());
+        ExpenseDTO row = row("Kopi", "2.50");
+        row.setCategoryId(foreign.getId());
+
+        assertThatThrownBy(() -> expenseService.importExpenses(List.of(row)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category not found: " + foreign.getId());
+    }
+}
@@ -0,0 +1,91 @@
+package dev.hananfarizta.moneymanager.service;
+
+import dev.hananfarizta.moneymanager.entity.CategoryEntity;
+import dev.hananfarizta.moneymanager.entity.ExpenseEntity;
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransactionNameSearch.class)
+class TransactionNameSearchTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    @Autowired
+    private TransactionNameSearch transactionNameSearch;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ProfileEntity profile;
+    private CategoryEntity food;
+
+    @BeforeEach
+    void setUp() {
+        profile = entityManager.persist(ProfileEntity.builder()
+                .fullName("John Doe")
+                .email("john.doe@example.com")
+                .password("$2a$10$encoded")
+                .isActive(true)
+                .build());
+        food = entityManager.persist(CategoryEntity.builder()
+                .name("Food").type("expense").profile(profile).build());
+    }
+
+    private ExpenseEntity expense(String name, LocalDate date) {
+        return entityManager.persist(ExpenseEntity.builder()
+                .name(name).amount(new BigDecimal("10.00")).date(date)
+                .category(food).profile(profile).build());
+    }
+
+    @Test
+    @DisplayName("nama disimpan dalam bentuk ternormalisasi di kolom search_name")
+    void persist_fillsNormalizedSearchName() {
+        ExpenseEntity saved = expense("  Kopi SUSU ", START);
+
+        assertThat(saved.getSearchName()).isEqualTo("kopi susu");
+    }
+
+    @Test
+    @DisplayName("hasil diurutkan: sama persis, lalu awalan, lalu substring, dan dibatasi rentang tanggal")
+    void searchExpenseIds_ranksMatches() {
+        ExpenseEntity contains = expense("Es kopi", LocalDate.of(2025, 1, 20));
+        ExpenseEntity prefix = expense("Kopi susu", LocalDate.of(2025, 1, 10));
+        ExpenseEntity exact = expense("KOPI", LocalDate.of(2025, 1, 5));
+        expense("Makan siang", LocalDate.of(2025, 1, 6));
+        expense("Kopi lama", LocalDate.of(2024, 12, 31));
+        entityManager.flush();
+
+        List<Long> ids = transactionNameSearch.searchExpenseIds(profile.getId(), START, END, " Kopi ");
+
+        assertThat(ids).containsExactly(exact.getId(), prefix.getId(), contains.getId());
+    }
+
+    @Test
+    @DisplayName("index in-memory dibangun ulang setelah invalidate")
+    void invalidateExpenses_rebuildsIndex() {
+        expense("Kopi", START);
+        entityManager.flush();
+        assertThat(transactionNameSearch.searchExpenseIds(profile.getId(), START, END, "teh")).isEmpty();
+
+        ExpenseEntity tea = expense("Teh manis", START);
+        entityManager.flush();
+        transactionNameSearch.invalidateExpenses(profile.getId());
+
+        assertThat(transactionNameSearch.searchExpenseIds(profile.getId(), START, END, "teh"))
+                .containsExactly(tea.getId());
+    }
+}
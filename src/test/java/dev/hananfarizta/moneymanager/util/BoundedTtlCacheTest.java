@@ -0,0 +1,123 @@
+package dev.hananfarizta.moneymanager.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private BoundedTtlCache<String, String> cache(int maxSize, Duration ttl) {
+        return new BoundedTtlCache<>(maxSize, ttl, now::get);
+    }
+
+    @Test
+    @DisplayName("get memanggil loader sekali lalu mengembalikan nilai dari cache")
+    void get_loadsOnce() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", k -> k + loads.incrementAndGet())).isEqualTo("a1");
+        assertThat(cache.get("a", k -> k + loads.incrementAndGet())).isEqualTo("a1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("entry kedaluwarsa setelah TTL terlewati")
+    void entry_expiresAfterTtl() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofSeconds(30));
+        cache.put("a", "1");
+
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("TTL per entry dipakai jika lebih pendek dari TTL cache")
+    void put_withEntryTtl_expiresEarlier() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofMinutes(1));
+        cache.put("short", "1", Duration.ofSeconds(5));
+        cache.put("long", "2", Duration.ofHours(1));
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(cache.getIfPresent("short")).isNull();
+        assertThat(cache.getIfPresent("long")).isEqualTo("2");
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(cache.getIfPresent("long")).isNull();
+    }
+
+    @Test
+    @DisplayName("entry yang paling lama tidak dipakai dibuang saat ukuran maksimum terlampaui")
+    void leastRecentlyUsed_isEvicted() {
+        BoundedTtlCache<String, String> cache = cache(2, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.getIfPresent("a");
+        cache.put("c", "3");
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.getIfPresent("c")).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("invalidate menghapus entry dan nilai null dari loader tidak disimpan")
+    void invalidate_andNullLoads() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.invalidate("a");
+
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.get("b", k -> null)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("hasil loader tidak disimpan jika key di-invalidate selama loader berjalan")
+    void get_doesNotCacheLoadOverlappingInvalidate() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofMinutes(1));
+
+        assertThat(cache.get("a", k -> {
+            cache.invalidate("a");
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(cache.getIfPresent("a")).isNull();
+
+        assertThat(cache.get("a", k -> {
+            cache.invalidateAll();
+            return "stale";
+        })).isEqualTo("stale");
+        assertThat(cache.getIfPresent("a")).isNull();
+
+        assertThat(cache.get("a", k -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.getIfPresent("a")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("stats menghitung hit dan miss, entry kedaluwarsa dihitung sebagai miss")
+    void stats_countsHitsAndMisses() {
+        BoundedTtlCache<String, String> cache = cache(10, Duration.ofSeconds(30));
+        cache.get("a", k -> "1");
+        cache.get("a", k -> "1");
+        cache.get("a", k -> "1");
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.getIfPresent("a");
+
+        BoundedTtlCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+}
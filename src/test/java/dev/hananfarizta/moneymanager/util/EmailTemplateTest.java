@@ -0,0 +1,57 @@
+package dev.hananfarizta.moneymanager.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    private static String render(EmailTemplate template, java.util.function.Function<String, Object> values) {
+        TemplateBuffer buffer = new TemplateBuffer(8);
+        template.render(buffer, values);
+        return buffer.toString();
+    }
+
+    @Test
+    @DisplayName("variabel {{ }} di-escape sedangkan {{{ }}} ditulis apa adanya")
+    void render_escapesDoubleAndKeepsTripleRaw() {
+        EmailTemplate template = EmailTemplate.compile("<p>{{ name }}</p>{{{html}}}");
+
+        String rendered = render(template, name -> switch (name) {
+            case "name" -> "<script>alert('x') & \"y\"</script>";
+            case "html" -> "<b>ok</b>";
+            default -> null;
+        });
+
+        assertThat(rendered).isEqualTo(
+                "<p>&lt;script&gt;alert(&#39;x&#39;) &amp; &quot;y&quot;&lt;/script&gt;</p><b>ok</b>");
+    }
+
+    @Test
+    @DisplayName("fragment menulis baris berulang ke buffer yang sama dan karakter non-ASCII tetap utuh")
+    void render_nestsFragmentsAndKeepsNonAscii() {
+        EmailTemplate table = EmailTemplate.compile("<table>{{{rows}}}</table>");
+        EmailTemplate row = EmailTemplate.compile("<tr><td>{{name}}</td><td>{{amount}}</td></tr>");
+        List<String> names = List.of("Kopi ☕", "Nasi 🍚");
+
+        String rendered = render(table, name -> "rows".equals(name)
+                ? (EmailTemplate.Fragment) out -> names.forEach(item -> row.render(out,
+                        key -> "name".equals(key) ? item : new BigDecimal("12.50")))
+                : null);
+
+        assertThat(rendered).isEqualTo("<table><tr><td>Kopi ☕</td><td>12.50</td></tr>"
+                + "<tr><td>Nasi 🍚</td><td>12.50</td></tr></table>");
+    }
+
+    @Test
+    @DisplayName("variabel yang tidak ditutup ditolak saat kompilasi")
+    void compile_rejectsUnterminatedVariable() {
+        assertThatThrownBy(() -> EmailTemplate.compile("Hi {{name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated");
+    }
+}
@@ -0,0 +1,69 @@
+package dev.hananfarizta.moneymanager.util;
+
+import dev.hananfarizta.moneymanager.entity.ProfileEntity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil("test-secret-that-is-long-enough-for-hs256-signing", 100);
+    }
+
+    @Test
+    @DisplayName("token membawa email, profile id dan status aktif sebagai claims")
+    void generateToken_carriesProfileClaims() {
+        ProfileEntity profile = ProfileEntity.builder()
+                .id(42L)
+                .email("john.doe@example.com")
+                .isActive(true)
+                .build();
+
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(profile));
+
+        assertThat(claims.getSubject()).isEqualTo("john.doe@example.com");
+        assertThat(claims.get(JwtUtil.CLAIM_PROFILE_ID, Long.class)).isEqualTo(42L);
+        assertThat(claims.get(JwtUtil.CLAIM_ACTIVE, Boolean.class)).isTrue();
+        assertThat(claims.getExpiration()).isInTheFuture();
+    }
+
+    @Test
+    @DisplayName("token yang sudah diverifikasi diambil dari cache tanpa parsing ulang")
+    void extractAllClaims_reusesVerifiedClaims() {
+        ProfileEntity profile = ProfileEntity.builder()
+                .id(7L)
+                .email("jane.doe@example.com")
+                .isActive(true)
+                .build();
+        String token = jwtUtil.generateToken(profile);
+
+        Claims first = jwtUtil.extractAllClaims(token);
+        Claims second = jwtUtil.extractAllClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("jane.doe@example.com");
+    }
+
+    @Test
+    @DisplayName("token dengan signature salah ditolak")
+    void extractAllClaims_rejectsTamperedToken() {
+        ProfileEntity profile = ProfileEntity.builder()
+                .id(7L)
+                .email("jane.doe@example.com")
+                .isActive(true)
+                .build();
+        String token = jwtUtil.generateToken(profile);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.extractAllClaims(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+}
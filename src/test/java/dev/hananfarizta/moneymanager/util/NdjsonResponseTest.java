@@ -0,0 +1,46 @@
+package dev.hananfarizta.moneymanager.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NdjsonResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("setiap item ditulis sebagai satu baris JSON dan stream tidak ditutup")
+    void of_writesOneJsonObjectPerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = NdjsonResponse.<Map<String, Object>>of(objectMapper, sink -> {
+            sink.accept(Map.of("name", "Coffee", "date", LocalDate.of(2025, 1, 3)));
+            sink.accept(Map.of("name", "Lunch"));
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("response stream must stay open");
+            }
+        };
+        response.getBody().writeTo(out);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(NdjsonResponse.MEDIA_TYPE);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("date").asText()).isEqualTo("2025-01-03");
+        assertThat(objectMapper.readTree(lines[1]).get("name").asText()).isEqualTo("Lunch");
+    }
+}
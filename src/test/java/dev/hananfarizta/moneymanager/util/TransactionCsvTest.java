@@ -0,0 +1,49 @@
+package dev.hananfarizta.moneymanager.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TransactionCsvTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 5);
+
+    private static String export(String name, String icon) throws IOException {
+        StringBuilder out = new StringBuilder();
+        TransactionCsv.writeHeader(out);
+        TransactionCsv.writeRow(out, DATE, name, "Food", 7L, new BigDecimal("-10.00"), icon);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("teks yang dibaca spreadsheet sebagai formula diekspor dengan awalan '")
+    void writeRow_guardsFormulaLikeText() throws IOException {
+        String csv = export("=HYPERLINK(\"http://x\",\"y\")", "@SUM(A1)");
+
+        assertThat(csv.lines().skip(1).findFirst()).hasValue(
+                "2025-01-05,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",Food,7,-10.00,'@SUM(A1)");
+    }
+
+    @Test
+    @DisplayName("awalan ' dibuang lagi saat impor sehingga nama kembali utuh")
+    void read_dropsGuardOnImport() throws IOException {
+        List<String> names = List.of("=1+1", "+62 pulsa", "-diskon", "@home", "'=sudah dikutip", "'biasa", "Kopi");
+
+        for (String name : names) {
+            List<TransactionCsv.Row> rows = TransactionCsv.read(new StringReader(export(name, "-")), 10);
+
+            assertThat(rows).singleElement().satisfies(row -> {
+                assertThat(row.name()).isEqualTo(name);
+                assertThat(row.icon()).isEqualTo("-");
+                assertThat(row.amount()).isEqualByComparingTo("-10.00");
+            });
+        }
+    }
+}